@@ -0,0 +1,484 @@
+package chess;
+
+/**
+ * Provides constants and helper methods for bitboards.<br>
+ * A bitboard is a {@code long}, in which every bit represents one square of
+ * the board. The square with the coordinates ({@code x}, {@code y}) is stored
+ * in bit {@code y * 8 + x}, so A1 is the least significant bit and H8 is the
+ * most significant bit.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Bitboard {
+
+	/**
+	 * The A-file.
+	 */
+	public static final long FILE_A = 0x0101010101010101L;
+
+	/**
+	 * The H-file.
+	 */
+	public static final long FILE_H = FILE_A << 7;
+
+	/**
+	 * The first rank.
+	 */
+	public static final long RANK_1 = 0xFFL;
+
+	/**
+	 * The eighth rank.
+	 */
+	public static final long RANK_8 = RANK_1 << 56;
+
+	/**
+	 * The squares attacked by a knight, indexed by its square.
+	 */
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+
+	/**
+	 * The squares attacked by a king, indexed by its square.
+	 */
+	private static final long[] KING_ATTACKS = new long[64];
+
+	/**
+	 * The squares attacked by a pawn, indexed by the owner's ordinal and the
+	 * square of the pawn.
+	 */
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+	/**
+	 * The steps on the x-axis of the eight directions. The first four
+	 * directions lead to higher square indices, the last four to lower ones.
+	 */
+	private static final int[] DIRECTION_X = { 1, 0, 1, -1, -1, 0, -1, 1 };
+
+	/**
+	 * The steps on the y-axis of the eight directions.
+	 */
+	private static final int[] DIRECTION_Y = { 0, 1, 1, 1, 0, -1, -1, -1 };
+
+	/**
+	 * The squares from a square to the edge of the board, indexed by the
+	 * direction and the square. The square itself is not included.
+	 */
+	private static final long[][] RAYS = new long[8][64];
+
+	/**
+	 * The squares between two squares on a common line, indexed by both
+	 * squares. Both squares themselves are not included.
+	 */
+	private static final long[][] BETWEEN = new long[64][64];
+
+	/**
+	 * The whole line from edge to edge through two squares, indexed by both
+	 * squares. Squares which are not on a common line have no line.
+	 */
+	private static final long[][] LINES = new long[64][64];
+
+	/**
+	 * The magic factors for rooks, indexed by the square. Multiplying the
+	 * relevant occupied squares with the factor maps them to a unique index
+	 * of the attack table. They have been found by a random search once.
+	 */
+	private static final long[] ROOK_MAGICS = {
+			// @formatter:off
+			0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+			0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+			0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+			0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+			0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+			0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+			0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+			0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+			0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+			0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+			0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+			0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+			0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+			0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+			0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+			0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+			// @formatter:on
+	};
+
+	/**
+	 * The magic factors for bishops, indexed by the square.
+	 */
+	private static final long[] BISHOP_MAGICS = {
+			// @formatter:off
+			0xA010041108003100L, 0x006082020A002900L, 0x6810010619200000L, 0x08281A0520000408L,
+			0x0001104001000400L, 0x0018901008048400L, 0x00040A0210245280L, 0x000200210808A402L,
+			0x9140048410821200L, 0x0800091010820041L, 0x20504804832202C0L, 0x0100091401081000L,
+			0x8021011140000012L, 0x0810020804450400L, 0x208B0542109008A2L, 0x0080084A08040204L,
+			0x0040E2A80811244CL, 0x2505022008008108L, 0x0430220100420040L, 0x010A040420220040L,
+			0x1105000290400000L, 0x0093001200822120L, 0x4000A62048043004L, 0x280120048A015004L,
+			0x006090002A020814L, 0x44042000240800D0L, 0x01102800040A4400L, 0x1004080080220040L,
+			0x0001001011004024L, 0x0010044000805040L, 0x0914041200820100L, 0x0004821012821480L,
+			0x0024040500C05021L, 0x0088611002080200L, 0x0116080A00040020L, 0x4000020080080080L,
+			0x2450450140840040L, 0x0000880201484100L, 0x0222020404020092L, 0x8081110600002E00L,
+			0x2842101105000801L, 0x1100809008001025L, 0x00020202221C0400L, 0x0422014022009020L,
+			0x0210046102100C00L, 0xC004008082029102L, 0x00AA461801101200L, 0x0404080080201108L,
+			0x020542108C205002L, 0x0410544804100100L, 0x0040910841100000L, 0x0400200042021100L,
+			0x00004204850400C0L, 0x0200100410A42102L, 0x1040020801210102L, 0x0805040410420000L,
+			0x2884804130100200L, 0x800C262201242000L, 0x1058000194108800L, 0x0014221054420204L,
+			0x0104000012A02200L, 0x0200881003300100L, 0x0140400202840100L, 0x0402020801010201L
+			// @formatter:on
+	};
+
+	/**
+	 * The squares whose occupation matters for a rook, indexed by its square.
+	 */
+	private static final long[] ROOK_MASKS = new long[64];
+
+	/**
+	 * The squares whose occupation matters for a bishop, indexed by its
+	 * square.
+	 */
+	private static final long[] BISHOP_MASKS = new long[64];
+
+	/**
+	 * The shifts of the magic products for rooks, indexed by the square.
+	 */
+	private static final int[] ROOK_SHIFTS = new int[64];
+
+	/**
+	 * The shifts of the magic products for bishops, indexed by the square.
+	 */
+	private static final int[] BISHOP_SHIFTS = new int[64];
+
+	/**
+	 * The attacks of rooks for all relevant occupations, indexed by the
+	 * square and the magic index.
+	 */
+	private static final long[][] ROOK_ATTACKS = new long[64][];
+
+	/**
+	 * The attacks of bishops for all relevant occupations, indexed by the
+	 * square and the magic index.
+	 */
+	private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			long bit = 1L << square;
+			KNIGHT_ATTACKS[square] = knightAttacks(bit);
+			KING_ATTACKS[square] = kingAttacks(bit);
+			PAWN_ATTACKS[Player.WHITE.ordinal()][square] = pawnAttacks(bit, Player.WHITE);
+			PAWN_ATTACKS[Player.BLACK.ordinal()][square] = pawnAttacks(bit, Player.BLACK);
+			for (int direction = 0; direction < 8; direction++) {
+				int x = getX(square) + DIRECTION_X[direction];
+				int y = getY(square) + DIRECTION_Y[direction];
+				while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+					RAYS[direction][square] |= bit(x, y);
+					x += DIRECTION_X[direction];
+					y += DIRECTION_Y[direction];
+				}
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			for (int direction = 0; direction < 8; direction++) {
+				// the opposite direction is four indices away
+				long line = RAYS[direction][square] | RAYS[(direction + 4) % 8][square] | (1L << square);
+				for (long b = RAYS[direction][square]; b != 0; b &= b - 1) {
+					int target = first(b);
+					BETWEEN[square][target] = RAYS[direction][square] & RAYS[(direction + 4) % 8][target];
+					LINES[square][target] = line;
+				}
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			ROOK_MASKS[square] = getMask(square, 0, 1, 4, 5);
+			ROOK_SHIFTS[square] = 64 - Long.bitCount(ROOK_MASKS[square]);
+			ROOK_ATTACKS[square] = getAttackTable(square, ROOK_MASKS[square], ROOK_MAGICS[square],
+					ROOK_SHIFTS[square], 0, 1, 4, 5);
+			BISHOP_MASKS[square] = getMask(square, 2, 3, 6, 7);
+			BISHOP_SHIFTS[square] = 64 - Long.bitCount(BISHOP_MASKS[square]);
+			BISHOP_ATTACKS[square] = getAttackTable(square, BISHOP_MASKS[square], BISHOP_MAGICS[square],
+					BISHOP_SHIFTS[square], 2, 3, 6, 7);
+		}
+	}
+
+	/**
+	 * This class provides only static methods and must not be instantiated.
+	 */
+	private Bitboard() {
+	}
+
+	/**
+	 * Returns the square index of a coordinate.
+	 *
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @return the square index
+	 */
+	public static int square(int x, int y) {
+		return (y << 3) | x;
+	}
+
+	/**
+	 * Returns the x-coordinate of a square index.
+	 *
+	 * @param square
+	 *            the square index
+	 * @return the x-coordinate
+	 */
+	public static int getX(int square) {
+		return square & 7;
+	}
+
+	/**
+	 * Returns the y-coordinate of a square index.
+	 *
+	 * @param square
+	 *            the square index
+	 * @return the y-coordinate
+	 */
+	public static int getY(int square) {
+		return square >>> 3;
+	}
+
+	/**
+	 * Returns a bitboard that only contains a certain square.
+	 *
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @return the bitboard of the square
+	 */
+	public static long bit(int x, int y) {
+		return 1L << square(x, y);
+	}
+
+	/**
+	 * Returns the index of the least significant square of a bitboard.
+	 *
+	 * @param bitboard
+	 *            the bitboard, must not be empty
+	 * @return the index of the first square
+	 */
+	public static int first(long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	/**
+	 * Returns all squares attacked by knights.
+	 *
+	 * @param knights
+	 *            the squares of the knights
+	 * @return the attacked squares
+	 */
+	public static long knightAttacks(long knights) {
+		long l1 = (knights >>> 1) & ~FILE_H;
+		long l2 = (knights >>> 2) & ~(FILE_H | (FILE_H >>> 1));
+		long r1 = (knights << 1) & ~FILE_A;
+		long r2 = (knights << 2) & ~(FILE_A | (FILE_A << 1));
+		long h1 = l1 | r1;
+		long h2 = l2 | r2;
+		return (h1 << 16) | (h1 >>> 16) | (h2 << 8) | (h2 >>> 8);
+	}
+
+	/**
+	 * Returns all squares attacked by kings.
+	 *
+	 * @param kings
+	 *            the squares of the kings
+	 * @return the attacked squares
+	 */
+	public static long kingAttacks(long kings) {
+		long attacks = ((kings << 1) & ~FILE_A) | ((kings >>> 1) & ~FILE_H);
+		kings |= attacks;
+		return attacks | (kings << 8) | (kings >>> 8);
+	}
+
+	/**
+	 * Returns all squares attacked by pawns of a player.
+	 *
+	 * @param pawns
+	 *            the squares of the pawns
+	 * @param owner
+	 *            the owner of the pawns
+	 * @return the attacked squares
+	 */
+	public static long pawnAttacks(long pawns, Player owner) {
+		if (owner == Player.WHITE) {
+			return ((pawns << 7) & ~FILE_H) | ((pawns << 9) & ~FILE_A);
+		} else {
+			return ((pawns >>> 9) & ~FILE_H) | ((pawns >>> 7) & ~FILE_A);
+		}
+	}
+
+	/**
+	 * Returns all squares attacked by a knight.
+	 *
+	 * @param square
+	 *            the square of the knight
+	 * @return the attacked squares
+	 */
+	public static long getKnightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	/**
+	 * Returns all squares attacked by a king.
+	 *
+	 * @param square
+	 *            the square of the king
+	 * @return the attacked squares
+	 */
+	public static long getKingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	/**
+	 * Returns all squares attacked by a pawn.
+	 *
+	 * @param square
+	 *            the square of the pawn
+	 * @param owner
+	 *            the owner of the pawn
+	 * @return the attacked squares
+	 */
+	public static long getPawnAttacks(int square, Player owner) {
+		return PAWN_ATTACKS[owner.ordinal()][square];
+	}
+
+	/**
+	 * Returns the squares between two squares on a common rank, file or
+	 * diagonal.
+	 *
+	 * @param from
+	 *            the first square
+	 * @param to
+	 *            the second square
+	 * @return the squares between them, without both squares, empty if they
+	 *         aren't on a common line
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * Returns the whole rank, file or diagonal through two squares.
+	 *
+	 * @param from
+	 *            the first square
+	 * @param to
+	 *            the second square
+	 * @return the squares of the line from edge to edge, empty if they
+	 *         aren't on a common line
+	 */
+	public static long line(int from, int to) {
+		return LINES[from][to];
+	}
+
+	/**
+	 * Returns all squares attacked by a rook. The attacked squares include
+	 * the first blocking square of every direction.
+	 *
+	 * @param square
+	 *            the square of the rook
+	 * @param occupied
+	 *            all occupied squares
+	 * @return the attacked squares
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return ROOK_ATTACKS[square][(int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square])
+				>>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns all squares attacked by a bishop. The attacked squares include
+	 * the first blocking square of every direction.
+	 *
+	 * @param square
+	 *            the square of the bishop
+	 * @param occupied
+	 *            all occupied squares
+	 * @return the attacked squares
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return BISHOP_ATTACKS[square][(int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square])
+				>>> BISHOP_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares of some directions whose occupation changes the
+	 * attacks of a slider. The last square of each direction never blocks
+	 * anything, so it is left out.
+	 *
+	 * @param square
+	 *            the square of the slider
+	 * @param directions
+	 *            the indices of the directions
+	 * @return the relevant squares
+	 */
+	private static long getMask(int square, int... directions) {
+		long mask = 0L;
+		for (int direction : directions) {
+			long ray = RAYS[direction][square];
+			if (ray != 0) {
+				int edge = (direction < 4) ? 63 - Long.numberOfLeadingZeros(ray) : Long.numberOfTrailingZeros(ray);
+				mask |= ray & ~(1L << edge);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Creates the attack table of a slider on a square. Every subset of the
+	 * relevant squares is stored at its magic index.
+	 *
+	 * @param square
+	 *            the square of the slider
+	 * @param mask
+	 *            the relevant squares
+	 * @param magic
+	 *            the magic factor
+	 * @param shift
+	 *            the shift of the magic product
+	 * @param directions
+	 *            the indices of the directions
+	 * @return the attack table
+	 */
+	private static long[] getAttackTable(int square, long mask, long magic, int shift, int... directions) {
+		long[] table = new long[1 << (64 - shift)];
+		long occupied = 0L;
+		do {
+			long attacks = 0L;
+			for (int direction : directions) {
+				attacks |= ray(square, occupied, direction);
+			}
+			table[(int) ((occupied * magic) >>> shift)] = attacks;
+			occupied = (occupied - mask) & mask;
+		} while (occupied != 0);
+		return table;
+	}
+
+	/**
+	 * Returns the squares attacked in one direction, up to and including the
+	 * first occupied square.
+	 *
+	 * @param square
+	 *            the origin
+	 * @param occupied
+	 *            all occupied squares
+	 * @param direction
+	 *            the index of the direction, see {@link #DIRECTION_X}
+	 * @return the attacked squares
+	 */
+	private static long ray(int square, long occupied, int direction) {
+		long ray = RAYS[direction][square];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		int blocker = (direction < 4) ? Long.numberOfTrailingZeros(blockers)
+				: 63 - Long.numberOfLeadingZeros(blockers);
+		return ray ^ RAYS[direction][blocker];
+	}
+
+}
@@ -1,5 +1,7 @@
 package chess;
 
+import java.util.Arrays;
+
 import chess.figures.*;
 
 /**
@@ -11,19 +13,173 @@ import chess.figures.*;
 public class Board {
 
 	/**
-	 * The current state of the game.
+	 * Castling right for white to the right (towards the h-file).
+	 */
+	private static final int WHITE_KINGSIDE = 1;
+
+	/**
+	 * Castling right for white to the left (towards the a-file).
+	 */
+	private static final int WHITE_QUEENSIDE = 2;
+
+	/**
+	 * Castling right for black to the right (towards the h-file).
+	 */
+	private static final int BLACK_KINGSIDE = 4;
+
+	/**
+	 * Castling right for black to the left (towards the a-file).
+	 */
+	private static final int BLACK_QUEENSIDE = 8;
+
+	/**
+	 * The castling rights which remain after a figure moved from or to a
+	 * square, indexed by the square.
+	 */
+	private static final int[] CASTLING_MASKS = new int[64];
+
+	static {
+		Arrays.fill(CASTLING_MASKS, WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		CASTLING_MASKS[Bitboard.square(0, 0)] &= ~WHITE_QUEENSIDE;
+		CASTLING_MASKS[Bitboard.square(7, 0)] &= ~WHITE_KINGSIDE;
+		CASTLING_MASKS[Bitboard.square(4, 0)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+		CASTLING_MASKS[Bitboard.square(0, 7)] &= ~BLACK_QUEENSIDE;
+		CASTLING_MASKS[Bitboard.square(7, 7)] &= ~BLACK_KINGSIDE;
+		CASTLING_MASKS[Bitboard.square(4, 7)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+	}
+
+	/**
+	 * Stores everything that is needed to take back a move, see
+	 * {@link Board#unmakeMove()}.
+	 */
+	private static class Undo {
+
+		/**
+		 * The move, see {@link Move}.
+		 */
+		private int move;
+
+		/**
+		 * The moved figure. In case of a promotion, this is the pawn.
+		 */
+		private Figure moved;
+
+		/**
+		 * The captured figure or {@code null}.
+		 */
+		private Figure captured;
+
+		/**
+		 * The square of the captured figure. This differs from the destiny
+		 * for 'en passant'.
+		 */
+		private int capturedSquare;
+
+		/**
+		 * The castling rights before the move.
+		 */
+		private int castling;
+
+		/**
+		 * White's x-marker before the move.
+		 */
+		private int markerWhiteX;
+
+		/**
+		 * Black's x-marker before the move.
+		 */
+		private int markerBlackX;
+
+		/**
+		 * White's value before the move.
+		 */
+		private int valueWhite;
+
+		/**
+		 * Black's value before the move.
+		 */
+		private int valueBlack;
+
+		/**
+		 * The state before the move.
+		 */
+		private State state;
+
+		/**
+		 * The legal moves before the move.
+		 */
+		private int[] legalMoves;
+
+		/**
+		 * The key before the move.
+		 */
+		private long key;
+
+	}
+
+	/**
+	 * The current state of the game, {@code null} if it hasn't been requested
+	 * since the last change, see {@link #getCurrentState()}.
 	 */
 	private State state;
 
+	/**
+	 * The legal moves of the current player, {@code null} if they haven't
+	 * been requested since the last change, see {@link #getLegalMoves()}.
+	 * The array is never changed, so copies of this board share it.
+	 */
+	private int[] legalMoves;
+
 	/**
 	 * The current player.
 	 */
 	private Player currentPlayer;
 
 	/**
-	 * Stores the figures.
+	 * Stores the figures, indexed by their square. This is a view on the
+	 * bitboards, which allows fast access to the {@link Figure} objects of a
+	 * square. The figures are shared with other boards, see
+	 * {@link #getFigure(Player, int)}, so copying the board only copies this
+	 * array.
+	 */
+	private Figure[] figures;
+
+	/**
+	 * The bitboards of the figures, indexed by the owner's ordinal and the
+	 * type of the figure. Index {@code 0} of each owner contains all of his
+	 * figures.
+	 */
+	private long[][] bitboards;
+
+	/**
+	 * All occupied squares.
+	 */
+	private long occupied;
+
+	/**
+	 * The squares of the kings, indexed by the owner's ordinal. {@code -1}, if
+	 * a king doesn't exist.
 	 */
-	private Figure[][] figures;
+	private int[] kingSquares;
+
+	/**
+	 * The classes of the figures, indexed by their type.
+	 */
+	private static final Class<?>[] TYPES = { null, Pawn.class, Knight.class, Bishop.class, Rook.class, Queen.class,
+			King.class };
+
+	/**
+	 * The figures, indexed by the owner's ordinal and their type. Figures are
+	 * immutable, so all boards share these instances.
+	 */
+	private static final Figure[][] FIGURES = new Figure[2][];
+
+	static {
+		for (Player owner : Player.values()) {
+			FIGURES[owner.ordinal()] = new Figure[] { null, new Pawn(owner), new Knight(owner), new Bishop(owner),
+					new Rook(owner), new Queen(owner), new King(owner) };
+		}
+	}
 
 	/**
 	 * The previous board.
@@ -44,6 +200,37 @@ public class Board {
 	 */
 	private int markerBlackX;
 
+	/**
+	 * The remaining castling rights.
+	 */
+	private int castling;
+
+	/**
+	 * The Zobrist key of this board, see {@link Zobrist}. It is updated
+	 * whenever a figure, the current player, a marker or the castling rights
+	 * change.
+	 */
+	private long key;
+
+	/**
+	 * The undo information of all moves made by {@link #makeMove(int)}, which
+	 * haven't been taken back yet.
+	 */
+	private Undo[] undoStack;
+
+	/**
+	 * The number of used entries of the undo stack.
+	 */
+	private int undoSize;
+
+	/**
+	 * The sum of the values of all figures except the king, indexed by the
+	 * owner's ordinal. These sums are updated whenever a figure is set or
+	 * removed. The value of a king depends on the game phase, so it is added
+	 * in {@link #evaluate()}.
+	 */
+	private int[] values;
+
 	/**
 	 * White's value for this board.
 	 */
@@ -58,48 +245,57 @@ public class Board {
 	 * Creates a new {@link Board} and spawns all {@link Figure}.
 	 */
 	public Board() {
-		state = State.NONE;
+		state = null;
+		legalMoves = null;
 		currentPlayer = Player.WHITE;
-		figures = new Figure[8][8];
+		figures = new Figure[64];
+		bitboards = new long[2][7];
+		occupied = 0L;
+		kingSquares = new int[] { -1, -1 };
+		values = new int[2];
+		key = 0L;
 		// @formatter:off
-		figures[0][0] = new   Rook(Player.WHITE, this, 0, 0);
-		figures[1][0] = new Knight(Player.WHITE, this, 1, 0);
-		figures[2][0] = new Bishop(Player.WHITE, this, 2, 0);
-		figures[3][0] = new  Queen(Player.WHITE, this, 3, 0);
-		figures[4][0] = new   King(Player.WHITE, this, 4, 0);
-		figures[5][0] = new Bishop(Player.WHITE, this, 5, 0);
-		figures[6][0] = new Knight(Player.WHITE, this, 6, 0);
-		figures[7][0] = new   Rook(Player.WHITE, this, 7, 0);
-		figures[0][1] = new   Pawn(Player.WHITE, this, 0, 1);
-		figures[1][1] = new   Pawn(Player.WHITE, this, 1, 1);
-		figures[2][1] = new   Pawn(Player.WHITE, this, 2, 1);
-		figures[3][1] = new   Pawn(Player.WHITE, this, 3, 1);
-		figures[4][1] = new   Pawn(Player.WHITE, this, 4, 1);
-		figures[5][1] = new   Pawn(Player.WHITE, this, 5, 1);
-		figures[6][1] = new   Pawn(Player.WHITE, this, 6, 1);
-		figures[7][1] = new   Pawn(Player.WHITE, this, 7, 1);
-		figures[0][6] = new   Pawn(Player.BLACK, this, 0, 6);
-		figures[1][6] = new   Pawn(Player.BLACK, this, 1, 6);
-		figures[2][6] = new   Pawn(Player.BLACK, this, 2, 6);
-		figures[3][6] = new   Pawn(Player.BLACK, this, 3, 6);
-		figures[4][6] = new   Pawn(Player.BLACK, this, 4, 6);
-		figures[5][6] = new   Pawn(Player.BLACK, this, 5, 6);
-		figures[6][6] = new   Pawn(Player.BLACK, this, 6, 6);
-		figures[7][6] = new   Pawn(Player.BLACK, this, 7, 6);
-		figures[0][7] = new   Rook(Player.BLACK, this, 0, 7);
-		figures[1][7] = new Knight(Player.BLACK, this, 1, 7);
-		figures[2][7] = new Bishop(Player.BLACK, this, 2, 7);
-		figures[3][7] = new  Queen(Player.BLACK, this, 3, 7);
-		figures[4][7] = new   King(Player.BLACK, this, 4, 7);
-		figures[5][7] = new Bishop(Player.BLACK, this, 5, 7);
-		figures[6][7] = new Knight(Player.BLACK, this, 6, 7);
-		figures[7][7] = new   Rook(Player.BLACK, this, 7, 7);
+		setFigure(0, 0, getFigure(Player.WHITE, Figure.ROOK));
+		setFigure(1, 0, getFigure(Player.WHITE, Figure.KNIGHT));
+		setFigure(2, 0, getFigure(Player.WHITE, Figure.BISHOP));
+		setFigure(3, 0, getFigure(Player.WHITE, Figure.QUEEN));
+		setFigure(4, 0, getFigure(Player.WHITE, Figure.KING));
+		setFigure(5, 0, getFigure(Player.WHITE, Figure.BISHOP));
+		setFigure(6, 0, getFigure(Player.WHITE, Figure.KNIGHT));
+		setFigure(7, 0, getFigure(Player.WHITE, Figure.ROOK));
+		setFigure(0, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(1, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(2, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(3, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(4, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(5, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(6, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(7, 1, getFigure(Player.WHITE, Figure.PAWN));
+		setFigure(0, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(1, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(2, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(3, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(4, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(5, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(6, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(7, 6, getFigure(Player.BLACK, Figure.PAWN));
+		setFigure(0, 7, getFigure(Player.BLACK, Figure.ROOK));
+		setFigure(1, 7, getFigure(Player.BLACK, Figure.KNIGHT));
+		setFigure(2, 7, getFigure(Player.BLACK, Figure.BISHOP));
+		setFigure(3, 7, getFigure(Player.BLACK, Figure.QUEEN));
+		setFigure(4, 7, getFigure(Player.BLACK, Figure.KING));
+		setFigure(5, 7, getFigure(Player.BLACK, Figure.BISHOP));
+		setFigure(6, 7, getFigure(Player.BLACK, Figure.KNIGHT));
+		setFigure(7, 7, getFigure(Player.BLACK, Figure.ROOK));
 		// @formatter:on
 		previous = null;
 		markerWhiteX = -1;
 		markerBlackX = -1;
-		valueWhite = Integer.MIN_VALUE;
-		valueBlack = Integer.MIN_VALUE;
+		castling = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+		key ^= Zobrist.getCastling(castling);
+		undoStack = new Undo[0];
+		undoSize = 0;
+		evaluate();
 	}
 
 	/**
@@ -111,25 +307,37 @@ public class Board {
 	 */
 	private Board(Board board) {
 		this.state = board.state;
+		this.legalMoves = board.legalMoves;
 		this.currentPlayer = board.currentPlayer;
-		this.figures = new Figure[8][8];
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if (board.figures[x][y] != null) {
-					this.figures[x][y] = board.figures[x][y].clone(this);
-				}
-			}
-		}
+		this.figures = board.figures.clone();
+		this.bitboards = new long[2][];
+		this.bitboards[0] = board.bitboards[0].clone();
+		this.bitboards[1] = board.bitboards[1].clone();
+		this.occupied = board.occupied;
+		this.kingSquares = board.kingSquares.clone();
+		this.values = board.values.clone();
 		this.previous = board;
+		this.markerWhiteX = board.markerWhiteX;
+		this.markerBlackX = board.markerBlackX;
+		this.castling = board.castling;
+		this.key = board.key;
+		this.undoStack = new Undo[0];
+		this.undoSize = 0;
+		this.valueWhite = board.valueWhite;
+		this.valueBlack = board.valueBlack;
 	}
 
 	/**
-	 * Returns the board.
+	 * Returns the board as a new array, indexed by the x- and y-coordinates.
 	 * 
 	 * @return the board
 	 */
 	public Figure[][] getBoard() {
-		return figures;
+		Figure[][] board = new Figure[8][8];
+		for (int square = 0; square < 64; square++) {
+			board[Bitboard.getX(square)][Bitboard.getY(square)] = figures[square];
+		}
+		return board;
 	}
 
 	/**
@@ -146,7 +354,26 @@ public class Board {
 	 *         </ul>
 	 */
 	public Figure getFigure(int x, int y) {
-		return figures[x][y];
+		return figures[Bitboard.square(x, y)];
+	}
+
+	/**
+	 * Returns the figure of a certain owner and type. There is only one
+	 * instance per owner and type, which is shared by all boards.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the type isn't valid
+	 * @param owner
+	 *            the owner
+	 * @param type
+	 *            the type of the figure, see {@link Figure#getType()}
+	 * @return the figure
+	 */
+	public static Figure getFigure(Player owner, int type) {
+		if ((type < Figure.PAWN) || (type > Figure.KING)) {
+			throw new IllegalArgumentException();
+		}
+		return FIGURES[owner.ordinal()][type];
 	}
 
 	/**
@@ -160,7 +387,23 @@ public class Board {
 	 *            the figure to be set
 	 */
 	public void setFigure(int x, int y, Figure figure) {
-		figures[x][y] = figure;
+		removeFigure(x, y);
+		state = null;
+		legalMoves = null;
+		if (figure != null) {
+			long bit = Bitboard.bit(x, y);
+			long[] own = bitboards[figure.getOwner().ordinal()];
+			own[0] |= bit;
+			own[figure.getType()] |= bit;
+			occupied |= bit;
+			key ^= Zobrist.getFigure(figure.getOwner(), figure.getType(), Bitboard.square(x, y));
+			if (figure.getType() == Figure.KING) {
+				kingSquares[figure.getOwner().ordinal()] = Bitboard.square(x, y);
+			} else {
+				values[figure.getOwner().ordinal()] += figure.getValue(this, x, y);
+			}
+		}
+		figures[Bitboard.square(x, y)] = figure;
 	}
 
 	/**
@@ -178,11 +421,72 @@ public class Board {
 	 *         </ul>
 	 */
 	public Figure removeFigure(int x, int y) {
-		Figure ret = figures[x][y];
-		figures[x][y] = null;
+		Figure ret = figures[Bitboard.square(x, y)];
+		state = null;
+		legalMoves = null;
+		if (ret != null) {
+			long bit = Bitboard.bit(x, y);
+			long[] own = bitboards[ret.getOwner().ordinal()];
+			own[0] &= ~bit;
+			own[ret.getType()] &= ~bit;
+			occupied &= ~bit;
+			key ^= Zobrist.getFigure(ret.getOwner(), ret.getType(), Bitboard.square(x, y));
+			if (ret.getType() == Figure.KING) {
+				kingSquares[ret.getOwner().ordinal()] = -1;
+			} else {
+				values[ret.getOwner().ordinal()] -= ret.getValue(this, x, y);
+			}
+			figures[Bitboard.square(x, y)] = null;
+		}
 		return ret;
 	}
 
+	/**
+	 * Returns whether a square is occupied or not.
+	 * 
+	 * @param x
+	 *            x-coordinate of the square
+	 * @param y
+	 *            y-coordinate of the square
+	 * @return {@code true}, if a figure stands on the square
+	 */
+	public boolean isOccupied(int x, int y) {
+		return (occupied & Bitboard.bit(x, y)) != 0;
+	}
+
+	/**
+	 * Returns the bitboard of all occupied squares.
+	 * 
+	 * @return all occupied squares
+	 */
+	public long getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Returns the bitboard of all figures of a player.
+	 * 
+	 * @param player
+	 *            the owner of the figures
+	 * @return all squares occupied by the player
+	 */
+	public long getBitboard(Player player) {
+		return bitboards[player.ordinal()][0];
+	}
+
+	/**
+	 * Returns the bitboard of all figures of a certain type and player.
+	 * 
+	 * @param player
+	 *            the owner of the figures
+	 * @param type
+	 *            the type of the figures, see {@link Figure#getType()}
+	 * @return all squares occupied by figures of that type and player
+	 */
+	public long getBitboard(Player player, int type) {
+		return bitboards[player.ordinal()][type];
+	}
+
 	/**
 	 * Moves a figure to a square.
 	 * 
@@ -201,13 +505,528 @@ public class Board {
 	 *         </ul>
 	 */
 	public Board move(int fromX, int fromY, int toX, int toY) {
-		Board ret = null;
-		if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-			ret = figures[fromX][fromY].move(toX, toY);
+		return move(getMove(fromX, fromY, toX, toY));
+	}
+
+	/**
+	 * Makes a move on a copy of this board. The move is checked against the
+	 * legal moves of this board first, so moves of other boards, e.g. of an
+	 * outdated search, are refused.
+	 * 
+	 * @param move
+	 *            the move, see {@link Move}
+	 * @return
+	 * 		<ul>
+	 *         <li>the resulting board</li>
+	 *         <li>{@code null}, if the move is not legal on this board</li>
+	 *         </ul>
+	 */
+	public Board move(int move) {
+		if (!isLegal(move)) {
+			return null;
 		}
+		Board ret = clone();
+		ret.makeMove(move);
 		return ret;
 	}
 
+	/**
+	 * Returns the encoded move of a figure of the current player to a
+	 * square.
+	 * 
+	 * @param fromX
+	 *            x-coordinate of origin
+	 * @param fromY
+	 *            y-coordinate of origin
+	 * @param toX
+	 *            x-coordinate of destiny
+	 * @param toY
+	 *            y-coordinate of destiny
+	 * @return
+	 * 		<ul>
+	 *         <li>the move, see {@link Move}</li>
+	 *         <li>{@link Move#NONE}, if the move isn't legal</li>
+	 *         </ul>
+	 */
+	public int getMove(int fromX, int fromY, int toX, int toY) {
+		if ((getLegalTargets(fromX, fromY) & Bitboard.bit(toX, toY)) == 0) {
+			return Move.NONE;
+		}
+		int from = Bitboard.square(fromX, fromY);
+		return createMove(figures[from], from, Bitboard.square(toX, toY));
+	}
+
+	/**
+	 * Returns the legal moves of the current player. They are generated on
+	 * the first request and kept until the board changes, so the gui, the
+	 * {@link State} and the moves of a {@link Game} share the same work.
+	 * 
+	 * @return the moves, see {@link Move}
+	 */
+	public int[] getLegalMoves() {
+		return getLegalMoveArray().clone();
+	}
+
+	/**
+	 * Returns the squares a figure of the current player can legally move
+	 * to, see {@link #getLegalMoves()}.
+	 * 
+	 * @param x
+	 *            x-coordinate of the figure
+	 * @param y
+	 *            y-coordinate of the figure
+	 * @return the squares as a bitboard, empty if the square is empty or the
+	 *         figure belongs to the opponent
+	 */
+	public long getLegalTargets(int x, int y) {
+		int from = Bitboard.square(x, y);
+		long targets = 0L;
+		for (int move : getLegalMoveArray()) {
+			if (Move.getFrom(move) == from) {
+				targets |= 1L << Move.getTo(move);
+			}
+		}
+		return targets;
+	}
+
+	/**
+	 * Returns whether a move is one of the legal moves of the current player,
+	 * see {@link #getLegalMoves()}.
+	 * 
+	 * @param move
+	 *            the move, see {@link Move}
+	 * @return {@code true}, if the move is legal
+	 */
+	private boolean isLegal(int move) {
+		for (int legal : getLegalMoveArray()) {
+			if (legal == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the cached legal moves of the current player, which must not
+	 * be changed.
+	 * 
+	 * @return the moves
+	 */
+	private int[] getLegalMoveArray() {
+		if (legalMoves == null) {
+			MoveList moves = new MoveList();
+			generateLegalMoves(moves);
+			int[] array = new int[moves.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = moves.get(i);
+			}
+			legalMoves = array;
+		}
+		return legalMoves;
+	}
+
+	/**
+	 * Encodes the move of a figure.
+	 * 
+	 * @param figure
+	 *            the moving figure
+	 * @param from
+	 *            origin
+	 * @param to
+	 *            destiny
+	 * @return the encoded move
+	 */
+	private int createMove(Figure figure, int from, int to) {
+		int type = figure.getType();
+		Figure target = figures[to];
+		int captured = (target == null) ? 0 : target.getType();
+		int promotion = 0;
+		int flags = 0;
+		if (type == Figure.PAWN) {
+			int distance = Math.abs(to - from);
+			if (distance == 16) {
+				flags = Move.DOUBLE_STEP;
+			} else if ((distance != 8) && (target == null)) {
+				flags = Move.EN_PASSANT;
+				captured = Figure.PAWN;
+			}
+			if ((Bitboard.getY(to) == 0) || (Bitboard.getY(to) == 7)) {
+				promotion = Figure.QUEEN;
+			}
+		} else if ((type == Figure.KING) && (Math.abs(to - from) == 2)) {
+			flags = Move.CASTLING;
+		}
+		return Move.create(from, to, type, captured, promotion, flags);
+	}
+
+	/**
+	 * Generates all moves of the current player according to the movement
+	 * rules of his figures. Moves which leave the own king in check are
+	 * included, {@link #makeMove(int)} refuses them.<br>
+	 * Use {@link #generateLegalMoves(MoveList)} to get the legal moves only.
+	 * 
+	 * @param list
+	 *            the list, which is cleared and filled with the moves
+	 */
+	public void generateMoves(MoveList list) {
+		list.clear();
+		for (long b = bitboards[currentPlayer.ordinal()][0]; b != 0; b &= b - 1) {
+			int from = Bitboard.first(b);
+			Figure figure = figures[from];
+			for (long targets = figure.getTargets(this, Bitboard.getX(from), Bitboard.getY(from)); targets != 0; targets &= targets - 1) {
+				list.add(createMove(figure, from, Bitboard.first(targets)));
+			}
+		}
+	}
+
+	/**
+	 * Generates all legal moves of the current player. Unlike
+	 * {@link #generateMoves(MoveList)}, no move leaves the own king in check,
+	 * so {@link #makeMove(int)} accepts all of them.<br>
+	 * Instead of making every move on trial, the checking figures, the pinned
+	 * figures and the squares which resolve a check are computed once. Only
+	 * the king's moves and captures 'en passant' are tested one by one,
+	 * without changing the board.
+	 * 
+	 * @param list
+	 *            the list, which is cleared and filled with the moves
+	 */
+	public void generateLegalMoves(MoveList list) {
+		int king = kingSquares[currentPlayer.ordinal()];
+		if (king == -1) {
+			// without a king, no move can leave it in check
+			generateMoves(list);
+			return;
+		}
+		list.clear();
+		Player opponent = currentPlayer.getOpponent();
+		long[] theirs = bitboards[opponent.ordinal()];
+		long checkers = getAttackers(king, occupied) & theirs[0];
+		long evasions;
+		if (checkers == 0) {
+			evasions = ~0L;
+		} else if ((checkers & (checkers - 1)) == 0) {
+			// capture the checking figure or block its line
+			evasions = checkers | Bitboard.between(king, Bitboard.first(checkers));
+		} else {
+			// only the king can escape a double check
+			evasions = 0L;
+		}
+		long pinned = getPinned(king);
+		int marker = getMarker(opponent);
+		long enPassant = (marker == -1) ? 0L : Bitboard.bit(marker, (currentPlayer == Player.WHITE) ? 5 : 2);
+
+		for (long b = bitboards[currentPlayer.ordinal()][0]; b != 0; b &= b - 1) {
+			int from = Bitboard.first(b);
+			Figure figure = figures[from];
+			long targets = figure.getTargets(this, Bitboard.getX(from), Bitboard.getY(from));
+			if (from == king) {
+				long occupiedWithoutKing = occupied ^ (1L << king);
+				for (; targets != 0; targets &= targets - 1) {
+					int to = Bitboard.first(targets);
+					if (!isSquareAttacked(to, opponent, occupiedWithoutKing)) {
+						list.add(createMove(figure, from, to));
+					}
+				}
+				continue;
+			}
+			long special = 0L;
+			if (figure.getType() == Figure.PAWN) {
+				special = targets & enPassant;
+				targets &= ~enPassant;
+			}
+			targets &= evasions;
+			if ((pinned & (1L << from)) != 0) {
+				// a pinned figure may only move along the line of the pin
+				targets &= Bitboard.line(king, from);
+			}
+			for (; targets != 0; targets &= targets - 1) {
+				list.add(createMove(figure, from, Bitboard.first(targets)));
+			}
+			if ((special != 0) && isEnPassantLegal(king, from, Bitboard.first(special))) {
+				list.add(createMove(figure, from, Bitboard.first(special)));
+			}
+		}
+	}
+
+	/**
+	 * Returns the figures of the current player, which are pinned to their
+	 * king by a sliding figure of the opponent.
+	 * 
+	 * @param king
+	 *            the square of the king
+	 * @return the squares of the pinned figures
+	 */
+	private long getPinned(int king) {
+		long own = bitboards[currentPlayer.ordinal()][0];
+		long[] theirs = bitboards[currentPlayer.getOpponent().ordinal()];
+		// sliders which would attack the king if the own figures were removed
+		long snipers = (Bitboard.rookAttacks(king, theirs[0]) & (theirs[Figure.ROOK] | theirs[Figure.QUEEN]))
+				| (Bitboard.bishopAttacks(king, theirs[0]) & (theirs[Figure.BISHOP] | theirs[Figure.QUEEN]));
+		long pinned = 0L;
+		for (; snipers != 0; snipers &= snipers - 1) {
+			long blockers = Bitboard.between(king, Bitboard.first(snipers)) & occupied;
+			if ((blockers != 0) && ((blockers & (blockers - 1)) == 0) && ((blockers & own) != 0)) {
+				pinned |= blockers;
+			}
+		}
+		return pinned;
+	}
+
+	/**
+	 * Returns whether a capture 'en passant' of the current player leaves his
+	 * king in check. Both pawns leave the rank at once, so this is tested
+	 * with the occupied squares after the move.
+	 * 
+	 * @param king
+	 *            the square of the king
+	 * @param from
+	 *            the square of the capturing pawn
+	 * @param to
+	 *            the destiny of the capturing pawn
+	 * @return {@code true}, if the king isn't in check after the capture
+	 */
+	private boolean isEnPassantLegal(int king, int from, int to) {
+		long captured = Bitboard.bit(Bitboard.getX(to), Bitboard.getY(from));
+		long after = (occupied ^ (1L << from) ^ captured) | (1L << to);
+		long[] theirs = bitboards[currentPlayer.getOpponent().ordinal()];
+		return ((Bitboard.rookAttacks(king, after) & (theirs[Figure.ROOK] | theirs[Figure.QUEEN])) == 0)
+				&& ((Bitboard.bishopAttacks(king, after) & (theirs[Figure.BISHOP] | theirs[Figure.QUEEN])) == 0)
+				&& ((Bitboard.getKnightAttacks(king) & theirs[Figure.KNIGHT]) == 0)
+				&& ((Bitboard.getPawnAttacks(king, currentPlayer) & theirs[Figure.PAWN] & ~captured) == 0);
+	}
+
+	/**
+	 * Generates all captures and promotions of the current player according
+	 * to the movement rules of his figures. Moves which leave the own king in
+	 * check are included, {@link #makeMove(int)} refuses them.
+	 * 
+	 * @param list
+	 *            the list, which is cleared and filled with the moves
+	 */
+	public void generateCaptures(MoveList list) {
+		list.clear();
+		long opponent = bitboards[currentPlayer.getOpponent().ordinal()][0];
+		for (long b = bitboards[currentPlayer.ordinal()][0]; b != 0; b &= b - 1) {
+			int from = Bitboard.first(b);
+			Figure figure = figures[from];
+			long targets = figure.getTargets(this, Bitboard.getX(from), Bitboard.getY(from));
+			if (figure.getType() != Figure.PAWN) {
+				// pawns also capture 'en passant' and promote on empty squares
+				targets &= opponent;
+			}
+			for (; targets != 0; targets &= targets - 1) {
+				int move = createMove(figure, from, Bitboard.first(targets));
+				if (Move.isCapture(move) || (Move.getPromotion(move) != 0)) {
+					list.add(move);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Makes a move on this board, without creating a new one. The move can be
+	 * taken back with {@link #unmakeMove()}.<br>
+	 * The move has to be created by this board, see
+	 * {@link #generateMoves(MoveList)}. The {@link State} is only computed if
+	 * it is requested, see {@link #getCurrentState()}.
+	 * 
+	 * @param move
+	 *            the move, see {@link Move}
+	 * @return
+	 * 		<ul>
+	 *         <li>{@code true}, if the move has been made</li>
+	 *         <li>{@code false}, if the move would leave the own king in
+	 *         check, the board is unchanged then</li>
+	 *         </ul>
+	 */
+	public boolean makeMove(int move) {
+		int fromX = Bitboard.getX(Move.getFrom(move));
+		int fromY = Bitboard.getY(Move.getFrom(move));
+		int toX = Bitboard.getX(Move.getTo(move));
+		int toY = Bitboard.getY(Move.getTo(move));
+		int flags = Move.getFlags(move);
+		Figure figure = figures[Move.getFrom(move)];
+		Undo undo = pushUndo(move, figure);
+
+		int capturedY = ((flags & Move.EN_PASSANT) != 0) ? fromY : toY;
+		undo.captured = removeFigure(toX, capturedY);
+		undo.capturedSquare = Bitboard.square(toX, capturedY);
+
+		removeFigure(fromX, fromY);
+		setFigure(toX, toY, figure);
+		if ((flags & Move.CASTLING) != 0) {
+			int rookFromX = (toX == 6) ? 7 : 0;
+			int rookToX = (toX == 6) ? 5 : 3;
+			Figure rook = removeFigure(rookFromX, fromY);
+			setFigure(rookToX, fromY, rook);
+		}
+		setMarker(Player.WHITE, -1);
+		setMarker(Player.BLACK, -1);
+		if ((flags & Move.DOUBLE_STEP) != 0) {
+			setMarker(currentPlayer, toX);
+		}
+		if (Move.getPromotion(move) != 0) {
+			setFigure(toX, toY, getFigure(currentPlayer, Move.getPromotion(move)));
+		}
+		key ^= Zobrist.getCastling(castling);
+		castling &= CASTLING_MASKS[Move.getFrom(move)] & CASTLING_MASKS[Move.getTo(move)];
+		key ^= Zobrist.getCastling(castling);
+
+		if (isInCheck(currentPlayer)) {
+			unmakeMove();
+			return false;
+		}
+		nextPlayer();
+		evaluate();
+		return true;
+	}
+
+	/**
+	 * Passes the right to move to the opponent without moving a figure. This
+	 * is not allowed in chess, but is used by the A.I. to find out if a board
+	 * is so good that even moving twice in a row doesn't help the opponent.
+	 * Both markers are cleared, as after every other move. The move can be
+	 * taken back with {@link #unmakeMove()}.
+	 */
+	public void makeNullMove() {
+		pushUndo(Move.NONE, null);
+		setMarker(Player.WHITE, -1);
+		setMarker(Player.BLACK, -1);
+		nextPlayer();
+		evaluate();
+	}
+
+	/**
+	 * Pushes a new entry to the undo stack, which saves everything needed to
+	 * take back a move.
+	 * 
+	 * @param move
+	 *            the move, see {@link Move}
+	 * @param moved
+	 *            the moved figure, {@code null} for a null move
+	 * @return the entry
+	 */
+	private Undo pushUndo(int move, Figure moved) {
+		if (undoSize == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, Math.max(16, undoSize * 2));
+		}
+		if (undoStack[undoSize] == null) {
+			undoStack[undoSize] = new Undo();
+		}
+		Undo undo = undoStack[undoSize++];
+		undo.move = move;
+		undo.moved = moved;
+		undo.castling = castling;
+		undo.markerWhiteX = markerWhiteX;
+		undo.markerBlackX = markerBlackX;
+		undo.valueWhite = valueWhite;
+		undo.valueBlack = valueBlack;
+		undo.state = state;
+		undo.legalMoves = legalMoves;
+		undo.key = key;
+		return undo;
+	}
+
+	/**
+	 * Takes back the last move made by {@link #makeMove(int)} or
+	 * {@link #makeNullMove()}.
+	 */
+	public void unmakeMove() {
+		Undo undo = undoStack[--undoSize];
+		if (undo.move == Move.NONE) {
+			currentPlayer = currentPlayer.getOpponent();
+		} else {
+			takeBack(undo);
+		}
+		castling = undo.castling;
+		markerWhiteX = undo.markerWhiteX;
+		markerBlackX = undo.markerBlackX;
+		valueWhite = undo.valueWhite;
+		valueBlack = undo.valueBlack;
+		state = undo.state;
+		legalMoves = undo.legalMoves;
+		key = undo.key;
+	}
+
+	/**
+	 * Moves the figures of a move back.
+	 * 
+	 * @param undo
+	 *            the undo information of the move
+	 */
+	private void takeBack(Undo undo) {
+		Figure figure = undo.moved;
+		int fromX = Bitboard.getX(Move.getFrom(undo.move));
+		int fromY = Bitboard.getY(Move.getFrom(undo.move));
+		int toX = Bitboard.getX(Move.getTo(undo.move));
+
+		removeFigure(toX, Bitboard.getY(Move.getTo(undo.move)));
+		setFigure(fromX, fromY, figure);
+		if ((Move.getFlags(undo.move) & Move.CASTLING) != 0) {
+			int rookFromX = (toX == 6) ? 7 : 0;
+			int rookToX = (toX == 6) ? 5 : 3;
+			Figure rook = removeFigure(rookToX, fromY);
+			setFigure(rookFromX, fromY, rook);
+		}
+		if (undo.captured != null) {
+			setFigure(Bitboard.getX(undo.capturedSquare), Bitboard.getY(undo.capturedSquare), undo.captured);
+		}
+		undo.moved = null;
+		undo.captured = null;
+
+		currentPlayer = figure.getOwner();
+	}
+
+	/**
+	 * Returns whether a player may still castle to one side. This is the case
+	 * if neither his king nor the rook of that side has been moved and the
+	 * rook hasn't been captured. Whether the squares in between are free and
+	 * not attacked is not checked.
+	 * 
+	 * @param player
+	 *            the player
+	 * @param kingside
+	 *            {@code true} for castling to the right (towards the h-file),
+	 *            {@code false} for castling to the left
+	 * @return {@code true}, if the player still has that castling right
+	 */
+	public boolean isCastlingAllowed(Player player, boolean kingside) {
+		int right;
+		if (player == Player.WHITE) {
+			right = kingside ? WHITE_KINGSIDE : WHITE_QUEENSIDE;
+		} else {
+			right = kingside ? BLACK_KINGSIDE : BLACK_QUEENSIDE;
+		}
+		return (castling & right) != 0;
+	}
+
+	/**
+	 * Grants or revokes a castling right, e.g. to set up a position which
+	 * hasn't been reached by moves from the initial board.
+	 * 
+	 * @param player
+	 *            the player
+	 * @param kingside
+	 *            {@code true} for castling to the right (towards the h-file),
+	 *            {@code false} for castling to the left
+	 * @param allowed
+	 *            {@code true}, if the player shall have that castling right
+	 */
+	void setCastlingAllowed(Player player, boolean kingside, boolean allowed) {
+		int right;
+		if (player == Player.WHITE) {
+			right = kingside ? WHITE_KINGSIDE : WHITE_QUEENSIDE;
+		} else {
+			right = kingside ? BLACK_KINGSIDE : BLACK_QUEENSIDE;
+		}
+		key ^= Zobrist.getCastling(castling);
+		castling = allowed ? (castling | right) : (castling & ~right);
+		key ^= Zobrist.getCastling(castling);
+		state = null;
+		legalMoves = null;
+	}
+
 	/**
 	 * Returns the current player.
 	 * 
@@ -218,11 +1037,16 @@ public class Board {
 	}
 
 	/**
-	 * Returns the current state.
+	 * Returns the current state. It is computed on the first request and
+	 * kept until the board changes, so boards which are never asked, like
+	 * the ones searched by the A.I., don't pay for it.
 	 * 
 	 * @return current state
 	 */
 	public State getCurrentState() {
+		if (state == null) {
+			state = computeState();
+		}
 		return state;
 	}
 
@@ -230,7 +1054,10 @@ public class Board {
 	 * Sets the next player as the current palyer.
 	 */
 	public void nextPlayer() {
-		currentPlayer = (currentPlayer == Player.WHITE ? Player.BLACK : Player.WHITE);
+		currentPlayer = currentPlayer.getOpponent();
+		key ^= Zobrist.getBlackToMove();
+		state = null;
+		legalMoves = null;
 	}
 
 	@Override
@@ -249,10 +1076,11 @@ public class Board {
 			sb.append('\n');
 			for (int x = 0; x < 8; x++) {
 				sb.append('|');
-				if (figures[x][y] == null) {
+				Figure figure = figures[Bitboard.square(x, y)];
+				if (figure == null) {
 					sb.append("   ");
 				} else {
-					sb.append(figures[x][y]);
+					sb.append(figure);
 					sb.append(' ');
 				}
 			}
@@ -275,19 +1103,68 @@ public class Board {
 	 * @return {@code true}, if the player is in check
 	 */
 	public boolean isInCheck(Player player) {
-		// TODO remove parameter player - unused
-		Figure king = getFigure(King.class, player);
-		if (king != null) {
-			for (int x = 0; x < 8; x++) {
-				for (int y = 0; y < 8; y++) {
-					if ((figures[x][y] != null) && (figures[x][y].getOwner() != player)
-							&& figures[x][y].isSquareReachable(king.getX(), king.getY())) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+		int king = kingSquares[player.ordinal()];
+		return (king != -1) && isSquareAttacked(king, player.getOpponent());
+	}
+
+	/**
+	 * Returns whether a square is attacked by a player or not.
+	 * 
+	 * @param square
+	 *            the square index, see {@link Bitboard#square(int, int)}
+	 * @param attacker
+	 *            the attacking player
+	 * @return {@code true}, if at least one figure of the attacker attacks
+	 *         the square
+	 */
+	public boolean isSquareAttacked(int square, Player attacker) {
+		return isSquareAttacked(square, attacker, occupied);
+	}
+
+	/**
+	 * Returns whether a square is attacked by a player or not. Sliding
+	 * figures are only blocked by the given occupied squares.
+	 * 
+	 * @param square
+	 *            the square index, see {@link Bitboard#square(int, int)}
+	 * @param attacker
+	 *            the attacking player
+	 * @param occupied
+	 *            the occupied squares
+	 * @return {@code true}, if at least one figure of the attacker attacks
+	 *         the square
+	 */
+	private boolean isSquareAttacked(int square, Player attacker, long occupied) {
+		long[] own = bitboards[attacker.ordinal()];
+		return ((Bitboard.getKnightAttacks(square) & own[Figure.KNIGHT]) != 0)
+				|| ((Bitboard.getPawnAttacks(square, attacker.getOpponent()) & own[Figure.PAWN]) != 0)
+				|| ((Bitboard.getKingAttacks(square) & own[Figure.KING]) != 0)
+				|| ((Bitboard.rookAttacks(square, occupied) & (own[Figure.ROOK] | own[Figure.QUEEN])) != 0)
+				|| ((Bitboard.bishopAttacks(square, occupied) & (own[Figure.BISHOP] | own[Figure.QUEEN])) != 0);
+	}
+
+	/**
+	 * Returns all figures of both players, which attack a square. Sliding
+	 * figures are only blocked by the given occupied squares, so figures
+	 * behind a removed figure can be found.
+	 * 
+	 * @param square
+	 *            the square index, see {@link Bitboard#square(int, int)}
+	 * @param occupied
+	 *            the occupied squares
+	 * @return the squares of the attacking figures
+	 */
+	public long getAttackers(int square, long occupied) {
+		long[] white = bitboards[Player.WHITE.ordinal()];
+		long[] black = bitboards[Player.BLACK.ordinal()];
+		long rooks = white[Figure.ROOK] | white[Figure.QUEEN] | black[Figure.ROOK] | black[Figure.QUEEN];
+		long bishops = white[Figure.BISHOP] | white[Figure.QUEEN] | black[Figure.BISHOP] | black[Figure.QUEEN];
+		return (Bitboard.getPawnAttacks(square, Player.BLACK) & white[Figure.PAWN])
+				| (Bitboard.getPawnAttacks(square, Player.WHITE) & black[Figure.PAWN])
+				| (Bitboard.getKnightAttacks(square) & (white[Figure.KNIGHT] | black[Figure.KNIGHT]))
+				| (Bitboard.getKingAttacks(square) & (white[Figure.KING] | black[Figure.KING]))
+				| (Bitboard.rookAttacks(square, occupied) & rooks)
+				| (Bitboard.bishopAttacks(square, occupied) & bishops);
 	}
 
 	/**
@@ -302,15 +1179,8 @@ public class Board {
 	 *         </ul>
 	 */
 	public Figure getKing(Player player) {
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if ((figures[x][y] != null) && (figures[x][y] instanceof King)
-						&& (figures[x][y].getOwner() == player)) {
-					return figures[x][y];
-				}
-			}
-		}
-		return null;
+		int king = kingSquares[player.ordinal()];
+		return (king == -1) ? null : figures[king];
 	}
 
 	/**
@@ -323,41 +1193,40 @@ public class Board {
 	 * @return the figure of the player
 	 */
 	public Figure getFigure(Class<?> figure, Player player) {
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if ((figures[x][y] != null) && (figure.isInstance(figures[x][y]))
-						&& (figures[x][y].getOwner() == player)) {
-					return figures[x][y];
-				}
+		long[] own = bitboards[player.ordinal()];
+		for (int type = Figure.PAWN; type <= Figure.KING; type++) {
+			if ((own[type] != 0) && figure.isAssignableFrom(TYPES[type])) {
+				return getFirstFigure(own[type]);
 			}
 		}
 		return null;
 	}
 
 	/**
-	 * Returns the previous Board.
+	 * Returns the figure standing on the first square of a bitboard.
 	 * 
-	 * @return the previous board
+	 * @param bitboard
+	 *            the bitboard
+	 * @return
+	 * 		<ul>
+	 *         <li>the figure on the first square</li>
+	 *         <li>{@code null}, if the bitboard is empty</li>
+	 *         </ul>
 	 */
-	public Board getPrevious() {
-		return previous;
+	private Figure getFirstFigure(long bitboard) {
+		if (bitboard == 0) {
+			return null;
+		}
+		return figures[Bitboard.first(bitboard)];
 	}
 
 	/**
-	 * Checks the board for {@link Pawn} at the end of the board. If there are
-	 * any, they will be promoted.
+	 * Returns the previous Board.
+	 * 
+	 * @return the previous board
 	 */
-	public void promote() {
-		for (int x = 0; x < 8; x++) {
-			if (figures[x][0] != null && figures[x][0] instanceof Pawn) {
-				figures[x][0] = new Queen(Player.BLACK, this, x, 0);
-			}
-		}
-		for (int x = 0; x < 8; x++) {
-			if (figures[x][7] != null && figures[x][7] instanceof Pawn) {
-				figures[x][7] = new Queen(Player.WHITE, this, x, 7);
-			}
-		}
+	public Board getPrevious() {
+		return previous;
 	}
 
 	/**
@@ -386,7 +1255,8 @@ public class Board {
 	 * @param marker
 	 *            the x-marker for the palyer
 	 */
-	public void setMarker(Player player, int marker) {
+	private void setMarker(Player player, int marker) {
+		key ^= Zobrist.getMarker(player, getMarker(player)) ^ Zobrist.getMarker(player, marker);
 		switch (player) {
 		case WHITE:
 			markerWhiteX = marker;
@@ -400,112 +1270,59 @@ public class Board {
 	}
 
 	/**
-	 * Resets the x marker for the current palyer.
+	 * Returns the Zobrist key of this board, see {@link Zobrist}. Boards with
+	 * the same figures, current player, markers and castling rights have the
+	 * same key.
+	 * 
+	 * @return the key
 	 */
-	public void resetMarker() {
-		switch (currentPlayer) {
-		case WHITE:
-			markerWhiteX = -1;
-			break;
-		case BLACK:
-			markerBlackX = -1;
-			break;
-		default:
-			throw new IllegalArgumentException();
-		}
+	public long getKey() {
+		return key;
 	}
 
 	/**
-	 * Evaluates the board for both players and stores these values.
+	 * Evaluates the board for both players and stores these values. The
+	 * values of all figures except the kings are kept up to date while
+	 * figures are set and removed, so this only adds the values of the
+	 * kings.
 	 */
 	public void evaluate() {
-		valueWhite = 0;
-		valueBlack = 0;
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if (figures[x][y] != null) {
-					switch (figures[x][y].getOwner()) {
-					case WHITE:
-						valueWhite += figures[x][y].getValue();
-						break;
-					case BLACK:
-						valueBlack += figures[x][y].getValue();
-						break;
-					default:
-						throw new IllegalArgumentException();
-					}
-				}
-			}
-		}
+		valueWhite = values[Player.WHITE.ordinal()] + getKingValue(Player.WHITE);
+		valueBlack = values[Player.BLACK.ordinal()] + getKingValue(Player.BLACK);
 	}
 
 	/**
-	 * Updates the current {@link State}.
-	 */
-	public void updateStatus() {
-		if (isInCheck(currentPlayer)) {
-			state = (currentPlayer == Player.WHITE) ? State.CHECK_WHITE : State.CHECK_BLACK;
-			if (isInCheckmate(currentPlayer)) {
-				state = (currentPlayer == Player.WHITE) ? State.CHECKMATE_WHITE : State.CHECKMATE_BLACK;
-			}
-		} else if (isInStalemate(currentPlayer)) {
-			state = (currentPlayer == Player.WHITE) ? State.STALEMATE_WHITE : State.STALEMATE_BLACK;
-		} else {
-			state = State.NONE;
-		}
-	}
-
-	/**
-	 * Returns whether a player is in checkmate or not.<br>
-	 * This method expects that <b>the current player is in check</b>.
+	 * Returns the value of the king of a player.
 	 * 
 	 * @param player
-	 *            the player to be checked
-	 * @return {@code true}, if the player is in checkmate
-	 */
-	private boolean isInCheckmate(Player player) {
-		// TODO remove parameter player - unused
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							Board temp = figures[fromX][fromY].move(toX, toY);
-							if (temp != null && !temp.isInCheck(currentPlayer)) {
-								return false;
-							}
-						}
-					}
-				}
-			}
-		}
-		return true;
+	 *            the owner of the king
+	 * @return
+	 * 		<ul>
+	 *         <li>the value of the king</li>
+	 *         <li>{@code 0}, if the king doesn't exist</li>
+	 *         </ul>
+	 */
+	private int getKingValue(Player player) {
+		int king = kingSquares[player.ordinal()];
+		return (king == -1) ? 0 : figures[king].getValue(this, Bitboard.getX(king), Bitboard.getY(king));
 	}
 
 	/**
-	 * Returns whether a player is in stalemate or not.<br>
-	 * This method expects that <b>the current player is not in check</b>.
+	 * Computes the current {@link State}.
 	 * 
-	 * @param player
-	 *            the player to be checked
-	 * @return {@code true}, if the player is in stalemate
-	 */
-	private boolean isInStalemate(Player player) {
-		// TODO remove parameter player - unused
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							if (figures[fromX][fromY].isSquareReachable(toX, toY)) {
-								return false;
-							}
-						}
-					}
-				}
+	 * @return the current state
+	 */
+	private State computeState() {
+		int moves = getLegalMoveArray().length;
+		if (isInCheck(currentPlayer)) {
+			if (moves == 0) {
+				return (currentPlayer == Player.WHITE) ? State.CHECKMATE_WHITE : State.CHECKMATE_BLACK;
 			}
+			return (currentPlayer == Player.WHITE) ? State.CHECK_WHITE : State.CHECK_BLACK;
+		} else if (moves == 0) {
+			return (currentPlayer == Player.WHITE) ? State.STALEMATE_WHITE : State.STALEMATE_BLACK;
 		}
-		return true;
+		return State.NONE;
 	}
 
 	/**
@@ -529,51 +1346,4 @@ public class Board {
 		}
 	}
 
-	public Board getMax(int ply) {
-		Board max = null;
-		Board temp;
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							temp = figures[fromX][fromY].move(toX, toY);
-							if ((temp != null) && (ply > 1)) {
-								temp = temp.getMax(ply - 1);
-							}
-							if ((max == null) || ((temp != null)
-									&& (temp.getValue(currentPlayer) > max.getValue(currentPlayer)))) {
-								max = temp;
-							}
-						}
-					}
-				}
-			}
-		}
-		return max;
-	}
-
-	public Board getMin(int ply) {
-		Board min = null;
-		Board temp;
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							temp = figures[fromX][fromY].move(toX, toY);
-							if ((temp != null) && (ply > 1)) {
-								temp = temp.getMax(ply - 1);
-							}
-							if ((min == null) || ((temp != null) && (temp.getValue() < min.getValue()))) {
-								min = temp;
-							}
-						}
-					}
-				}
-			}
-		}
-		return min;
-	}
-
 }
@@ -1,7 +1,10 @@
 package chess;
 
 /**
- * Represents a figure.
+ * Represents a figure. A figure only knows its owner and its type, not the
+ * board it stands on or its square, so it is immutable. All boards share one
+ * instance per owner and type, see {@link Board#getFigure(Player, int)}. The
+ * board and the square are passed to the methods which need them.
  * 
  * @author Maike Rees
  * @author Torben Kr&uuml;ger
@@ -9,30 +12,48 @@ package chess;
 public abstract class Figure {
 
 	/**
-	 * The owner.
+	 * Type of a {@link chess.figures.Pawn}.
+	 */
+	public static final int PAWN = 1;
+
+	/**
+	 * Type of a {@link chess.figures.Knight}.
+	 */
+	public static final int KNIGHT = 2;
+
+	/**
+	 * Type of a {@link chess.figures.Bishop}.
+	 */
+	public static final int BISHOP = 3;
+
+	/**
+	 * Type of a {@link chess.figures.Rook}.
 	 */
-	protected Player owner;
+	public static final int ROOK = 4;
 
 	/**
-	 * The board on which the figure is placed.
+	 * Type of a {@link chess.figures.Queen}.
 	 */
-	protected Board board;
+	public static final int QUEEN = 5;
 
 	/**
-	 * The x-coordinate of this figure on the board.
+	 * Type of a {@link chess.figures.King}.
 	 */
-	protected int x;
+	public static final int KING = 6;
 
 	/**
-	 * The y-coordinate of this figure on the board.
+	 * The owner.
 	 */
-	protected int y;
+	protected final Player owner;
 
-	protected Figure(Player owner, Board board, int x, int y) {
+	/**
+	 * Creates a new figure.
+	 * 
+	 * @param owner
+	 *            the owner
+	 */
+	protected Figure(Player owner) {
 		this.owner = owner;
-		this.board = board;
-		this.x = x;
-		this.y = y;
 	}
 
 	/**
@@ -45,115 +66,68 @@ public abstract class Figure {
 	}
 
 	/**
-	 * Moves this figure to a desired location
+	 * Returns whether a square is reachable or not. <br>
+	 * A square is not reachable if it contains a piece from the same owner or
+	 * if it is not reachable according to the the chess rules. Like
+	 * {@link #getTargets(Board, int, int)}, this doesn't change anything, so a
+	 * board may be queried by several threads at the same time.
 	 * 
+	 * @param board
+	 *            the board
+	 * @param x
+	 *            x-coordinate of this figure
+	 * @param y
+	 *            y-coordinate of this figure
 	 * @param toX
 	 *            x-coordinate of target location
 	 * @param toY
 	 *            y-coordinate of target location
-	 * @return
-	 * 		<ul>
-	 *         <li>the resulting board of the move</li>
-	 *         <li>{@code null}, if the move is not valid</li>
-	 *         </ul>
+	 * @return {@code true}, if the square is reachable
 	 */
-	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
-			}
-		}
-		return ret;
+	public final boolean isSquareReachable(Board board, int x, int y, int toX, int toY) {
+		return (getTargets(board, x, y) & Bitboard.bit(toX, toY)) != 0;
 	}
 
 	/**
-	 * Returns whether a square is reachable or not. <br>
-	 * A square is not reachable if it contains a piece from the same owner or
-	 * if it is not reachable according to the the chess rules.
+	 * Returns all squares this figure can move to according to its movement
+	 * rules. Moves which leave the own king in check are not filtered out.
+	 * Neither the board nor the figure is changed.
 	 * 
-	 * @param toX
-	 *            x-coordinate of target location
-	 * @param toY
-	 *            y-coordinate of target location
-	 * @return {@code true}, if the move is valid
+	 * @param board
+	 *            the board
+	 * @param x
+	 *            x-coordinate of this figure
+	 * @param y
+	 *            y-coordinate of this figure
+	 * @return the reachable squares as a bitboard
 	 */
-	protected boolean isSquareReachable(int x, int y) {
-		return !this.hasSameOwner(x, y);
-	}
+	public abstract long getTargets(Board board, int x, int y);
 
 	@Override
 	public String toString() {
 		return owner.toString();
 	}
 
-	protected abstract Figure clone(Board board);
-
 	/**
-	 * Returns the x-coordinate.
+	 * Returns the type of this piece.
 	 * 
-	 * @return the x-coordinate
+	 * @return one of {@link #PAWN}, {@link #KNIGHT}, {@link #BISHOP},
+	 *         {@link #ROOK}, {@link #QUEEN} or {@link #KING}
 	 */
-	public int getX() {
-		return x;
-	}
+	public abstract int getType();
 
 	/**
-	 * Sets the x-coordinate.
+	 * Returns the value this piece would have on a certain square.
 	 * 
+	 * @param board
+	 *            the board, which is only needed by the king, whose value
+	 *            depends on the phase of the game
 	 * @param x
-	 *            x-coordinate
-	 */
-	public void setX(int x) {
-		this.x = x;
-	}
-
-	/**
-	 * Returns the y-coordinate.
-	 * 
-	 * @return the y-coordinate
-	 */
-	public int getY() {
-		return y;
-	}
-
-	/**
-	 * Sets the y-coordinate.
-	 * 
+	 *            x-coordinate of the square
 	 * @param y
-	 *            y-coordinate
-	 */
-	public void setY(int y) {
-		this.y = y;
-	}
-
-	/**
-	 * Returns if the piece has the same owner as the piece on the transfered
-	 * coordinates
-	 * 
-	 * @param pieceX
-	 *            x-coordinate
-	 * @param pieceY
-	 *            y-coordinate
-	 * @return {@code true}, if both have the same owner
-	 */
-	protected boolean hasSameOwner(int pieceX, int pieceY) {
-		return (board.getFigure(pieceX, pieceY) != null) && (owner == board.getFigure(pieceX, pieceY).getOwner());
-	}
-
-	/**
-	 * Returns the value of this piece for a player.
+	 *            y-coordinate of the square
+	 * @return the value of this piece on the square
 	 */
-	public abstract int getValue();
+	public abstract int getValue(Board board, int x, int y);
 
 }
@@ -1,7 +1,12 @@
 package chess;
 
+import java.time.Duration;
 import java.util.Stack;
 
+import chess.search.Engine;
+import chess.search.Limits;
+import chess.search.SearchResult;
+
 /**
  * Represents a chess game.
  * 
@@ -12,6 +17,11 @@ import java.util.Stack;
  */
 public class Game {
 
+	/**
+	 * The default size of the transposition table in megabytes.
+	 */
+	public static final int DEFAULT_TABLE_SIZE = 16;
+
 	/**
 	 * Saves all previous boards.
 	 */
@@ -23,11 +33,37 @@ public class Game {
 	private Board board;
 
 	/**
-	 * Creates a new game.
+	 * The A.I., which keeps its transposition table between its moves.
+	 */
+	private Engine engine;
+
+	/**
+	 * The result of the last search of the A.I.
+	 */
+	private SearchResult lastResult;
+
+	/**
+	 * Creates a new game, whose A.I. uses one thread.
 	 */
 	public Game() {
+		this(DEFAULT_TABLE_SIZE, 1);
+	}
+
+	/**
+	 * Creates a new game.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the size or the number of threads is less than one, or
+	 *             if the size exceeds {@link chess.search.TranspositionTable#MAX_SIZE}
+	 * @param tableSize
+	 *            the size of the A.I.'s transposition table in megabytes
+	 * @param threads
+	 *            the number of threads of the A.I.
+	 */
+	public Game(int tableSize, int threads) {
 		this.history = new Stack<Board>();
 		this.board = new Board();
+		this.engine = new Engine(tableSize, threads);
 	}
 
 	/**
@@ -50,7 +86,19 @@ public class Game {
 		if (!isValid(fromX) || !isValid(fromY) || !isValid(toX) || !isValid(toY)) {
 			throw new IllegalArgumentException("The dimensions have to be between 0 (inclusive) and 7 (inclusive).");
 		}
-		Board temp = board.move(fromX, fromY, toX, toY);
+		return makeMove(board.getMove(fromX, fromY, toX, toY));
+	}
+
+	/**
+	 * Makes a move on the current board. Moves which aren't legal on the
+	 * current board are refused.
+	 * 
+	 * @param move
+	 *            the move, see {@link Move}
+	 * @return {@code true}, if move was valid
+	 */
+	public boolean makeMove(int move) {
+		Board temp = board.move(move);
 		if (temp != null) {
 			history.push(board);
 			board = temp;
@@ -63,6 +111,8 @@ public class Game {
 	/**
 	 * Makes a move on the current board, using an AI.
 	 * 
+	 * @throws IllegalArgumentException
+	 *             if the number of plies is less than one
 	 * @param ply
 	 *            number of plies the A.I shall look ahead
 	 * @return
@@ -77,17 +127,97 @@ public class Game {
 	 *         </ul>
 	 */
 	public boolean move(int ply) {
-		Board temp = board.getMax(ply);
-		if (temp != null) {
-			for (int i = 0; i < ply - 1; i++) {
-				temp = temp.getPrevious();
-			}
-			history.push(board);
-			board = temp;
-			return true;
-		} else {
-			return false;
-		}
+		return move(Limits.ofDepth(ply));
+	}
+
+	/**
+	 * Makes a move on the current board, using an AI. The A.I. looks ahead
+	 * one more ply after another, until the time is up. The move of the
+	 * deepest completed look ahead is made.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the time isn't positive
+	 * @param time
+	 *            the time the A.I. may think
+	 * @return
+	 * 		<ul>
+	 *         <li>{@code true}, if the move was successful</li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Checkmate">checkmated</a>
+	 *         </li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Stalemate">stalemated</a>
+	 *         </li>
+	 *         </ul>
+	 */
+	public boolean move(Duration time) {
+		return move(Limits.ofTime(time));
+	}
+
+	/**
+	 * Makes a move on the current board, using an AI. The A.I. looks ahead
+	 * one more ply after another, until it has rated a number of boards. The
+	 * move of the deepest completed look ahead is made. This isn't an
+	 * overload of {@link #move(int)}, which would be chosen for an
+	 * {@code int} argument.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the number of boards is less than one
+	 * @param maxNodes
+	 *            the number of boards the A.I. may rate
+	 * @return
+	 * 		<ul>
+	 *         <li>{@code true}, if the move was successful</li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Checkmate">checkmated</a>
+	 *         </li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Stalemate">stalemated</a>
+	 *         </li>
+	 *         </ul>
+	 */
+	public boolean moveWithNodes(long maxNodes) {
+		return move(Limits.ofNodes(maxNodes));
+	}
+
+	/**
+	 * Makes a move on the current board, using an AI. The A.I. looks ahead
+	 * one more ply after another, until one of the limits is reached.
+	 * 
+	 * @param limits
+	 *            the limits of the A.I.
+	 * @return
+	 * 		<ul>
+	 *         <li>{@code true}, if the move was successful</li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Checkmate">checkmated</a>
+	 *         </li>
+	 *         <li>{@code false}, if the current player is
+	 *         <a href="https://en.wikipedia.org/wiki/Stalemate">stalemated</a>
+	 *         </li>
+	 *         </ul>
+	 */
+	public boolean move(Limits limits) {
+		return move(engine.search(board, limits));
+	}
+
+	/**
+	 * Makes the best move of a search of the current board, e.g. of a search
+	 * which has been run in the background by an
+	 * {@link chess.search.AsyncEngine}.
+	 * 
+	 * @param result
+	 *            the result of the search
+	 * @return
+	 * 		<ul>
+	 *         <li>{@code true}, if the move was successful</li>
+	 *         <li>{@code false}, if the current player can't move or the
+	 *         result belongs to another board</li>
+	 *         </ul>
+	 */
+	public boolean move(SearchResult result) {
+		lastResult = result;
+		return makeMove(result.getBestMove());
 	}
 
 	/**
@@ -111,6 +241,29 @@ public class Game {
 		}
 	}
 
+	/**
+	 * Returns the A.I. of this game, e.g. to change its number of threads.
+	 * 
+	 * @return the A.I.
+	 */
+	public Engine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Returns the result of the last search of the A.I., e.g. to show its
+	 * principal variation.
+	 * 
+	 * @return
+	 * 		<ul>
+	 *         <li>the result</li>
+	 *         <li>{@code null}, if the A.I. hasn't moved yet</li>
+	 *         </ul>
+	 */
+	public SearchResult getLastResult() {
+		return lastResult;
+	}
+
 	public Board getBoard() {
 		return board;
 	}
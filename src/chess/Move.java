@@ -0,0 +1,191 @@
+package chess;
+
+/**
+ * Provides methods for moves, which are encoded in a single {@code int}.
+ * <br>
+ * The bits of a move are used as follows:
+ * <ul>
+ * <li>0 - 5: origin, see {@link Bitboard#square(int, int)}</li>
+ * <li>6 - 11: destiny</li>
+ * <li>12 - 14: type of the moved figure, see {@link Figure#getType()}</li>
+ * <li>15 - 17: type of the captured figure, {@code 0} if nothing is
+ * captured</li>
+ * <li>18 - 20: type of the figure a pawn is promoted to, {@code 0} if there
+ * is no promotion</li>
+ * <li>21 - 23: flags, see {@link #DOUBLE_STEP}, {@link #EN_PASSANT} and
+ * {@link #CASTLING}</li>
+ * </ul>
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Move {
+
+	/**
+	 * Represents no move at all.
+	 */
+	public static final int NONE = 0;
+
+	/**
+	 * Flag for a pawn moving two squares from its start position.
+	 */
+	public static final int DOUBLE_STEP = 1;
+
+	/**
+	 * Flag for a pawn capturing 'en passant'.
+	 */
+	public static final int EN_PASSANT = 2;
+
+	/**
+	 * Flag for a king castling.
+	 */
+	public static final int CASTLING = 4;
+
+	/**
+	 * This class provides only static methods and must not be instantiated.
+	 */
+	private Move() {
+	}
+
+	/**
+	 * Creates a move.
+	 *
+	 * @param from
+	 *            origin
+	 * @param to
+	 *            destiny
+	 * @param figure
+	 *            type of the moved figure
+	 * @param captured
+	 *            type of the captured figure, {@code 0} if nothing is
+	 *            captured
+	 * @param promotion
+	 *            type of the figure a pawn is promoted to, {@code 0} if there
+	 *            is no promotion
+	 * @param flags
+	 *            the flags
+	 * @return the encoded move
+	 */
+	public static int create(int from, int to, int figure, int captured, int promotion, int flags) {
+		return from | (to << 6) | (figure << 12) | (captured << 15) | (promotion << 18) | (flags << 21);
+	}
+
+	/**
+	 * Returns the origin of a move.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the origin
+	 */
+	public static int getFrom(int move) {
+		return move & 0x3F;
+	}
+
+	/**
+	 * Returns the destiny of a move.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the destiny
+	 */
+	public static int getTo(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	/**
+	 * Returns the type of the moved figure.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the type of the moved figure
+	 */
+	public static int getFigure(int move) {
+		return (move >>> 12) & 7;
+	}
+
+	/**
+	 * Returns the type of the captured figure.
+	 *
+	 * @param move
+	 *            the move
+	 * @return
+	 * 		<ul>
+	 *         <li>the type of the captured figure</li>
+	 *         <li>{@code 0}, if nothing is captured</li>
+	 *         </ul>
+	 */
+	public static int getCaptured(int move) {
+		return (move >>> 15) & 7;
+	}
+
+	/**
+	 * Returns the type of the figure a pawn is promoted to.
+	 *
+	 * @param move
+	 *            the move
+	 * @return
+	 * 		<ul>
+	 *         <li>the type of the new figure</li>
+	 *         <li>{@code 0}, if there is no promotion</li>
+	 *         </ul>
+	 */
+	public static int getPromotion(int move) {
+		return (move >>> 18) & 7;
+	}
+
+	/**
+	 * Returns the flags of a move.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the flags
+	 */
+	public static int getFlags(int move) {
+		return (move >>> 21) & 7;
+	}
+
+	/**
+	 * Returns whether a move captures a figure or not.
+	 *
+	 * @param move
+	 *            the move
+	 * @return {@code true}, if a figure is captured
+	 */
+	public static boolean isCapture(int move) {
+		return getCaptured(move) != 0;
+	}
+
+	/**
+	 * Returns a move in coordinate notation, e.g. {@code e2e4} or
+	 * {@code e7e8q}.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the move as a String
+	 */
+	public static String toString(int move) {
+		if (move == NONE) {
+			return "-";
+		}
+		StringBuilder sb = new StringBuilder();
+		appendSquare(sb, getFrom(move));
+		appendSquare(sb, getTo(move));
+		if (getPromotion(move) != 0) {
+			sb.append(" pnbrqk".charAt(getPromotion(move)));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Appends a square in algebraic notation.
+	 *
+	 * @param sb
+	 *            the StringBuilder
+	 * @param square
+	 *            the square
+	 */
+	private static void appendSquare(StringBuilder sb, int square) {
+		sb.append((char) ('a' + Bitboard.getX(square)));
+		sb.append((char) ('1' + Bitboard.getY(square)));
+	}
+
+}
@@ -0,0 +1,102 @@
+package chess;
+
+/**
+ * A list of moves encoded as {@code int}, see {@link Move}. The list is
+ * backed by an array of fixed size, so it can be reused without creating any
+ * objects.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class MoveList {
+
+	/**
+	 * The maximum number of moves. No chess position has more legal moves.
+	 */
+	public static final int CAPACITY = 256;
+
+	/**
+	 * The moves.
+	 */
+	private final int[] moves;
+
+	/**
+	 * The number of moves.
+	 */
+	private int size;
+
+	/**
+	 * Creates a new empty list.
+	 */
+	public MoveList() {
+		moves = new int[CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Adds a move.
+	 *
+	 * @param move
+	 *            the move
+	 */
+	public void add(int move) {
+		moves[size++] = move;
+	}
+
+	/**
+	 * Returns a move.
+	 *
+	 * @param index
+	 *            index of the move
+	 * @return the move
+	 */
+	public int get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Swaps two moves.
+	 *
+	 * @param i
+	 *            index of the first move
+	 * @param j
+	 *            index of the second move
+	 */
+	public void swap(int i, int j) {
+		int temp = moves[i];
+		moves[i] = moves[j];
+		moves[j] = temp;
+	}
+
+	/**
+	 * Returns the number of moves.
+	 *
+	 * @return the number of moves
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all moves.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Returns whether the list contains a move or not.
+	 *
+	 * @param move
+	 *            the move
+	 * @return {@code true}, if the list contains the move
+	 */
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
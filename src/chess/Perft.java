@@ -0,0 +1,218 @@
+package chess;
+
+/**
+ * Counts the boards which can be reached from a board by a fixed number of
+ * moves (performance test). The counts of well-known positions are
+ * published, so they reveal errors in the move generation, in making and
+ * taking back moves and in the handling of pins, checks, castling and 'en
+ * passant'.<br>
+ * While counting, the legal moves of every board are also compared with the
+ * moves of {@link Board#generateMoves(MoveList)}, which
+ * {@link Board#makeMove(int)} accepts.<br>
+ * Run {@link #main(String[])} after changing any of these. Only promotions to
+ * a queen are generated, so the positions are counted to depths without
+ * other promotions, where the published counts apply.
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">https://www.
+ *      chessprogramming.org/Perft_Results</a>
+ * @author Torben Kr&uuml;ger
+ */
+public final class Perft {
+
+	/**
+	 * The positions in Forsyth-Edwards notation, without move counters.
+	 */
+	private static final String[] POSITIONS = {
+			// @formatter:off
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - -"
+			// @formatter:on
+	};
+
+	/**
+	 * The depths the positions are counted to.
+	 */
+	private static final int[] DEPTHS = { 4, 3, 5, 3 };
+
+	/**
+	 * The published counts of the positions.
+	 */
+	private static final long[] COUNTS = { 197281L, 97862L, 674624L, 89890L };
+
+	/**
+	 * The lists of the legal moves, indexed by the remaining plies.
+	 */
+	private final MoveList[] moveLists;
+
+	/**
+	 * The list of the moves which are compared with the legal moves.
+	 */
+	private final MoveList trialMoves;
+
+	/**
+	 * Creates a new counter.
+	 *
+	 * @param depth
+	 *            the maximum depth
+	 */
+	private Perft(int depth) {
+		moveLists = new MoveList[depth + 1];
+		for (int i = 1; i <= depth; i++) {
+			moveLists[i] = new MoveList();
+		}
+		trialMoves = new MoveList();
+	}
+
+	/**
+	 * Counts the boards which can be reached by a number of moves. The moves
+	 * are made and taken back on the given board, so it is unchanged
+	 * afterwards.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the depth is less than one
+	 * @throws IllegalStateException
+	 *             if the legal moves of a board differ from the moves made on
+	 *             trial
+	 * @param board
+	 *            the board
+	 * @param depth
+	 *            the number of moves
+	 * @return the number of boards
+	 */
+	public static long perft(Board board, int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("The depth has to be positive.");
+		}
+		return new Perft(depth).count(board, depth);
+	}
+
+	/**
+	 * Counts the boards which can be reached by a number of moves.
+	 *
+	 * @param board
+	 *            the board
+	 * @param depth
+	 *            the remaining plies
+	 * @return the number of boards
+	 */
+	private long count(Board board, int depth) {
+		MoveList moves = moveLists[depth];
+		board.generateLegalMoves(moves);
+		check(board, moves);
+		if (depth == 1) {
+			return moves.size();
+		}
+		long count = 0L;
+		for (int i = 0; i < moves.size(); i++) {
+			board.makeMove(moves.get(i));
+			count += count(board, depth - 1);
+			board.unmakeMove();
+		}
+		return count;
+	}
+
+	/**
+	 * Compares the legal moves of a board with the moves which are accepted
+	 * when they are made on trial.
+	 *
+	 * @throws IllegalStateException
+	 *             if they differ
+	 * @param board
+	 *            the board
+	 * @param legal
+	 *            the legal moves of the board
+	 */
+	private void check(Board board, MoveList legal) {
+		board.generateMoves(trialMoves);
+		int accepted = 0;
+		for (int i = 0; i < trialMoves.size(); i++) {
+			int move = trialMoves.get(i);
+			if (board.makeMove(move)) {
+				board.unmakeMove();
+				accepted++;
+				if (!legal.contains(move)) {
+					throw new IllegalStateException("Legal move " + Move.toString(move) + " is missing:\n" + board);
+				}
+			}
+		}
+		if (accepted != legal.size()) {
+			throw new IllegalStateException("Illegal moves have been generated:\n" + board);
+		}
+	}
+
+	/**
+	 * Creates a board from the Forsyth-Edwards notation. The move counters
+	 * are ignored.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if an 'en passant' square is given
+	 * @param fen
+	 *            the notation of the figures, the current player, the
+	 *            castling rights and the 'en passant' square
+	 * @return the board
+	 */
+	static Board parse(String fen) {
+		String[] fields = fen.split(" ");
+		Board board = new Board();
+		for (int square = 0; square < 64; square++) {
+			board.removeFigure(Bitboard.getX(square), Bitboard.getY(square));
+		}
+		int x = 0;
+		int y = 7;
+		for (char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				x = 0;
+				y--;
+			} else if (Character.isDigit(c)) {
+				x += c - '0';
+			} else {
+				Player owner = Character.isUpperCase(c) ? Player.WHITE : Player.BLACK;
+				int type = "pnbrqk".indexOf(Character.toLowerCase(c)) + 1;
+				board.setFigure(x, y, Board.getFigure(owner, type));
+				x++;
+			}
+		}
+		if (fields[1].equals("b")) {
+			board.nextPlayer();
+		}
+		board.setCastlingAllowed(Player.WHITE, true, fields[2].contains("K"));
+		board.setCastlingAllowed(Player.WHITE, false, fields[2].contains("Q"));
+		board.setCastlingAllowed(Player.BLACK, true, fields[2].contains("k"));
+		board.setCastlingAllowed(Player.BLACK, false, fields[2].contains("q"));
+		if (!fields[3].equals("-")) {
+			throw new IllegalArgumentException("'En passant' squares are not supported.");
+		}
+		board.evaluate();
+		return board;
+	}
+
+	/**
+	 * Counts the well-known positions and compares the results with the
+	 * published counts. The program exits with status {@code 1} on the first
+	 * difference.
+	 *
+	 * @param args
+	 *            not used
+	 */
+	public static void main(String[] args) {
+		for (int i = 0; i < POSITIONS.length; i++) {
+			Board board = parse(POSITIONS[i]);
+			long key = board.getKey();
+			long start = System.currentTimeMillis();
+			long count = perft(board, DEPTHS[i]);
+			long time = System.currentTimeMillis() - start;
+			System.out.println(POSITIONS[i] + " depth " + DEPTHS[i] + ": " + count + " (" + time + " ms)");
+			if (count != COUNTS[i]) {
+				System.out.println("expected " + COUNTS[i]);
+				System.exit(1);
+			}
+			if (board.getKey() != key) {
+				System.out.println("the board has been changed");
+				System.exit(1);
+			}
+		}
+	}
+
+}
@@ -18,6 +18,15 @@ public enum Player {
 	 */
 	BLACK;
 
+	/**
+	 * Returns the opponent of this player.
+	 * 
+	 * @return the opponent
+	 */
+	public Player getOpponent() {
+		return (this == WHITE) ? BLACK : WHITE;
+	}
+
 	@Override
 	public String toString() {
 		switch (this) {
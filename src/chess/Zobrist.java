@@ -0,0 +1,126 @@
+package chess;
+
+import java.util.Random;
+
+/**
+ * Provides the random numbers for
+ * <a href="https://en.wikipedia.org/wiki/Zobrist_hashing">Zobrist hashing</a>.
+ * The key of a board is the XOR of the numbers of all its properties, so it
+ * can be updated with a few XORs whenever a property changes.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Zobrist {
+
+	/**
+	 * The seed of the random numbers. A fixed seed gives the same keys in
+	 * every run.
+	 */
+	private static final long SEED = 0x5EED_C0DE_2016L;
+
+	/**
+	 * The numbers of the figures, indexed by the owner's ordinal, the type
+	 * and the square.
+	 */
+	private static final long[][][] FIGURES = new long[2][7][64];
+
+	/**
+	 * The number which is included if black has to move.
+	 */
+	private static final long BLACK_TO_MOVE;
+
+	/**
+	 * The numbers of the castling rights, indexed by the bits of the rights.
+	 */
+	private static final long[] CASTLING = new long[16];
+
+	/**
+	 * The numbers of the x-markers for 'en passant', indexed by the player's
+	 * ordinal and the marker.
+	 */
+	private static final long[][] MARKERS = new long[2][8];
+
+	static {
+		Random random = new Random(SEED);
+		for (int player = 0; player < 2; player++) {
+			for (int type = Figure.PAWN; type <= Figure.KING; type++) {
+				for (int square = 0; square < 64; square++) {
+					FIGURES[player][type][square] = random.nextLong();
+				}
+			}
+			for (int x = 0; x < 8; x++) {
+				MARKERS[player][x] = random.nextLong();
+			}
+		}
+		BLACK_TO_MOVE = random.nextLong();
+		// castling rights are independent, so each combination is the XOR of
+		// its single rights
+		long[] rights = { random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong() };
+		for (int i = 0; i < 16; i++) {
+			for (int bit = 0; bit < 4; bit++) {
+				if ((i & (1 << bit)) != 0) {
+					CASTLING[i] ^= rights[bit];
+				}
+			}
+		}
+	}
+
+	/**
+	 * This class provides only static methods and must not be instantiated.
+	 */
+	private Zobrist() {
+	}
+
+	/**
+	 * Returns the number of a figure on a square.
+	 *
+	 * @param owner
+	 *            the owner of the figure
+	 * @param type
+	 *            the type of the figure, see {@link Figure#getType()}
+	 * @param square
+	 *            the square, see {@link Bitboard#square(int, int)}
+	 * @return the number
+	 */
+	public static long getFigure(Player owner, int type, int square) {
+		return FIGURES[owner.ordinal()][type][square];
+	}
+
+	/**
+	 * Returns the number which is included if black has to move.
+	 *
+	 * @return the number
+	 */
+	public static long getBlackToMove() {
+		return BLACK_TO_MOVE;
+	}
+
+	/**
+	 * Returns the number of some castling rights.
+	 *
+	 * @param castling
+	 *            the bits of the castling rights
+	 * @return the number
+	 */
+	public static long getCastling(int castling) {
+		return CASTLING[castling];
+	}
+
+	/**
+	 * Returns the number of an x-marker.
+	 *
+	 * @param player
+	 *            the player who set the marker
+	 * @param marker
+	 *            the marker
+	 * @return
+	 * 		<ul>
+	 *         <li>the number</li>
+	 *         <li>{@code 0}, if the marker is {@code -1}</li>
+	 *         </ul>
+	 */
+	public static long getMarker(Player player, int marker) {
+		return (marker == -1) ? 0L : MARKERS[player.ordinal()][marker];
+	}
+
+}
@@ -1,5 +1,6 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
@@ -9,7 +10,7 @@ public class Bishop extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 330;
+	public final static int VALUE = 330;
 
 	/**
 	 * The evaluation matrix.
@@ -27,70 +28,27 @@ public class Bishop extends Figure {
 			// @formatter:on
 	};
 
-	public Bishop(Player owner, Board game, int x, int y) {
-		super(owner, game, x, y);
+	public Bishop(Player owner) {
+		super(owner);
 	}
 
 	@Override
-	public String toString() {
-		return super.toString() + 'B';
+	public int getType() {
+		return BISHOP;
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
-		}
-
-		int distanceX = Math.abs(toX - x);
-
-		// check if the to-Position is on a diagonal
-		if (distanceX == Math.abs(toY - y)) {
-
-			// check if something is in between
-			if (toX > x) {
-
-				for (int i = 1; i < distanceX; i++) {
-
-					if (toY > y && board.getFigure(x + i, y + i) != null) {
-						return false;
-					}
-
-					if (toY < y && board.getFigure(x + i, y - i) != null) {
-						return false;
-					}
-				}
-
-			} else { // toX < x
-
-				for (int i = 1; i < distanceX; i++) {
-
-					if (toY > y && board.getFigure(x - i, y + i) != null) {
-						return false;
-					}
-
-					if (toY < y && board.getFigure(x - i, y - i) != null) {
-						return false;
-					}
-
-				}
-			}
-
-			// nothing is in between
-			return true;
-		}
-
-		return false;
+	public String toString() {
+		return super.toString() + 'B';
 	}
 
 	@Override
-	protected Figure clone(Board board) {
-		return new Bishop(this.owner, board, this.x, this.y);
+	public long getTargets(Board board, int x, int y) {
+		return Bitboard.bishopAttacks(Bitboard.square(x, y), board.getOccupied()) & ~board.getBitboard(owner);
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = Bishop.VALUE;
 		switch (owner) {
 		case WHITE:
@@ -1,5 +1,6 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
@@ -9,7 +10,7 @@ public class King extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 20000;
+	public final static int VALUE = 20000;
 
 	/**
 	 * The evaluation matrix for mid game.
@@ -83,24 +84,13 @@ public class King extends Figure {
 	// -30 },
 	// { -50, -40, -30, -20, -20, -30, -40, -50 } };
 
-	/**
-	 * true - if the king has already been moved in the game. <br/>
-	 * false - if the king has not already been moved in the game.
-	 */
-	private boolean hasBeenMoved;
-
-	public King(Player owner, Board board, int x, int y) {
-		super(owner, board, x, y);
-		this.hasBeenMoved = false;
-	}
-
-	public King(Player owner, Board board, int x, int y, boolean hasBeenMoved) {
-		super(owner, board, x, y);
-		this.hasBeenMoved = hasBeenMoved;
+	public King(Player owner) {
+		super(owner);
 	}
 
-	public boolean isHasBeenMoved() {
-		return hasBeenMoved;
+	@Override
+	public int getType() {
+		return KING;
 	}
 
 	@Override
@@ -109,87 +99,47 @@ public class King extends Figure {
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
+	public long getTargets(Board board, int x, int y) {
+		long targets = Bitboard.getKingAttacks(Bitboard.square(x, y)) & ~board.getBitboard(owner);
+		if (isCastlingPossible(board, x, y, true)) {
+			targets |= Bitboard.bit(6, y);
 		}
-
-		// castling rule to the right
-		if (!hasBeenMoved && (toX == 6) && (toY == y) && (board.getFigure(7, toY) != null)
-				&& (board.getFigure(7, toY) instanceof Rook) && (!((Rook) board.getFigure(7, toY)).isHasBeenMoved())
-				&& (board.getFigure(5, toY) == null) && (board.getFigure(6, toY) == null)) {
-			Board temp = board.clone();
-			temp.setFigure(5, y, temp.removeFigure(4, y));
-			temp.getFigure(5, y).setX(5);
-			if (!temp.isInCheck(temp.getCurrentPlayer())) {
-				return true;
-			}
-		}
-
-		// castling rule to the left 
-
-//		if ( (board.getFigure(0, toY) != null)
-//				&& (board.getFigure(0, toY) instanceof Rook)) {
-//		System.out.println(owner.toString() + " " + board.getFigure(0, toY).toString() + " "
-//				+ ((Rook) board.getFigure(0, toY)).isHasBeenMoved());	
-//		}
-
-		
-		if (!hasBeenMoved && (toX == 2) && (toY == y) && (board.getFigure(0, toY) != null)
-				&& (board.getFigure(0, toY) instanceof Rook) && (!((Rook) board.getFigure(0, toY)).isHasBeenMoved())
-				&& (board.getFigure(3, toY) == null) && (board.getFigure(2, toY) == null)
-				&& (board.getFigure(1, toY) == null)) {
-			Board temp = board.clone();
-			temp.setFigure(3, y, temp.removeFigure(4, y));
-			temp.getFigure(3, y).setX(3);
-			if (!temp.isInCheck(temp.getCurrentPlayer())) {
-				return true;
-			}
+		if (isCastlingPossible(board, x, y, false)) {
+			targets |= Bitboard.bit(2, y);
 		}
+		return targets;
+	}
 
-		if ((Math.abs(toX - x) < 2) && (Math.abs(toY - y) < 2)) {
-			hasBeenMoved = true;
-			return true;
-		} else {
+	/**
+	 * Returns whether this king may castle. The king and the rook must not
+	 * have been moved, all squares between them must be empty, and the king
+	 * must neither be in check nor pass an attacked square. Whether the
+	 * destination is attacked is tested when the move is made, like for every
+	 * other move.
+	 * 
+	 * @param board
+	 *            the board
+	 * @param x
+	 *            x-coordinate of this king
+	 * @param y
+	 *            y-coordinate of this king
+	 * @param kingside
+	 *            {@code true} for castling to the right, {@code false} for
+	 *            castling to the left
+	 * @return {@code true}, if castling is possible
+	 */
+	private boolean isCastlingPossible(Board board, int x, int y, boolean kingside) {
+		if (!board.isCastlingAllowed(owner, kingside)) {
 			return false;
 		}
-
-	}
-
-	@Override
-	protected Figure clone(Board board) {
-		return new King(this.owner, board, this.x, this.y, this.hasBeenMoved);
-	}
-
-	@Override
-	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			if (Math.abs(toX - x) == 2) {
-				if (toX == 2) {
-					ret.setFigure(3, y, ret.removeFigure(0, y));
-					ret.getFigure(3, y).setX(3);
-				}
-				if (toX == 6) {
-					ret.setFigure(5, y, ret.removeFigure(7, y));
-					ret.getFigure(5, y).setX(5);
-				}
-			}
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
-			}
+		long between = kingside ? Bitboard.bit(5, y) | Bitboard.bit(6, y)
+				: Bitboard.bit(1, y) | Bitboard.bit(2, y) | Bitboard.bit(3, y);
+		if ((board.getOccupied() & between) != 0) {
+			return false;
 		}
-		return ret;
+		Player opponent = owner.getOpponent();
+		return !board.isSquareAttacked(Bitboard.square(x, y), opponent)
+				&& !board.isSquareAttacked(Bitboard.square(kingside ? 5 : 3, y), opponent);
 	}
 
 	/**
@@ -201,28 +151,29 @@ public class King extends Figure {
 	 * other pieces or one minorpiece (B, N) maximum.</li>
 	 * </ul>
 	 * 
+	 * @param board
+	 *            the board
 	 * @return true - if the game is close to the end <br/>
 	 *         false - if the game is not close to the end
 	 */
-	private boolean isLateGame() {
+	private static boolean isLateGame(Board board) {
 		// TODO implement second condition
-		return (this.board.getFigure(Queen.class, Player.BLACK) == null
-				&& this.board.getFigure(Queen.class, Player.WHITE) == null);
+		return (board.getBitboard(Player.BLACK, QUEEN) == 0) && (board.getBitboard(Player.WHITE, QUEEN) == 0);
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = King.VALUE;
 		switch (owner) {
 		case WHITE:
-			if (isLateGame()) {
+			if (isLateGame(board)) {
 				value += EVAL_LATE_GAME[x][y];
 			} else {
 				value += EVAL_MID_GAME[x][y];
 			}
 			break;
 		case BLACK:
-			if (isLateGame()) {
+			if (isLateGame(board)) {
 				value += EVAL_LATE_GAME[x][7 - y];
 			} else {
 				value += EVAL_MID_GAME[x][7 - y];
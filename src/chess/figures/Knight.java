@@ -1,5 +1,6 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
@@ -9,7 +10,7 @@ public class Knight extends Figure {
 	/**
 	 * The base value.
 	 */
-	private static final int VALUE = 320;
+	public static final int VALUE = 320;
 
 	/**
 	 * The evaluation matrix.
@@ -27,34 +28,27 @@ public class Knight extends Figure {
 			// @formatter:on
 	};
 
-	public Knight(Player owner, Board game, int x, int y) {
-		super(owner, game, x, y);
+	public Knight(Player owner) {
+		super(owner);
 	}
 
 	@Override
-	public String toString() {
-		return super.toString() + 'N';
+	public int getType() {
+		return KNIGHT;
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
-		}
-
-		int absDistX = Math.abs(toX - x);
-		int absDistY = Math.abs(toY - y);
-		return (absDistX == 2 && absDistY == 1) || (absDistX == 1 && absDistY == 2);
+	public String toString() {
+		return super.toString() + 'N';
 	}
 
 	@Override
-	protected Figure clone(Board board) {
-		return new Knight(this.owner, board, this.x, this.y);
+	public long getTargets(Board board, int x, int y) {
+		return Bitboard.getKnightAttacks(Bitboard.square(x, y)) & ~board.getBitboard(owner);
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = Knight.VALUE;
 		switch (owner) {
 		case WHITE:
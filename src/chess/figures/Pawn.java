@@ -1,5 +1,6 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
@@ -9,7 +10,7 @@ public class Pawn extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 100;
+	public final static int VALUE = 100;
 
 	/**
 	 * The evaluation matrix.
@@ -27,21 +28,13 @@ public class Pawn extends Figure {
 			// @formatter:on
 	};
 
-	/**
-	 * -1, if the current move hasn't been a en passant. Takes the x-value of
-	 * the captured piece.
-	 */
-	private int enPassant;
-
-	/**
-	 * -1, if the current move hasn't been a start move (needed for en passant).
-	 */
-	private int startMove;
+	public Pawn(Player owner) {
+		super(owner);
+	}
 
-	public Pawn(Player owner, Board game, int x, int y) {
-		super(owner, game, x, y);
-		enPassant = -1;
-		startMove = -1;
+	@Override
+	public int getType() {
+		return PAWN;
 	}
 
 	@Override
@@ -50,101 +43,36 @@ public class Pawn extends Figure {
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
-		}
-
-		// walking straight forward
-		if (toX == this.x && board.getFigure(toX, toY) == null) {
-
-			// if on start position, one and two in y is allowed
-			if ((this.owner == Player.WHITE && y == 1) || (this.owner == Player.BLACK && y == 6)) {
-
-				if ((this.owner == Player.WHITE && toY - 2 == this.y && this.board.getFigure(toX, toY - 1) == null) // wenn
-																													// feld
-																													// dazwischen
-																													// frei
-																													// ist
-						|| (this.owner == Player.BLACK && toY + 2 == this.y
-								&& this.board.getFigure(toX, toY + 1) == null)) {
-					this.startMove = x;
-					return true;
-				}
-
-				this.startMove = -1;
-			}
-
-			// if not on start position, one is allowed
-			if ((this.owner == Player.WHITE && toY - 1 == this.y)
-					|| (this.owner == Player.BLACK && toY + 1 == this.y)) {
-				return true;
-			}
-		}
-
-		// capture an opponents piece
-		if (this.owner == Player.WHITE) {
-			if (Math.abs(this.x - toX) == 1 && this.y + 1 == toY
-					&& (board.getFigure(toX, toY) != null && board.getFigure(toX, toY).getOwner() == Player.BLACK)) {
-				return true;
+	public long getTargets(Board board, int x, int y) {
+		long empty = ~board.getOccupied();
+		long bit = Bitboard.bit(x, y);
+		long targets;
+		if (owner == Player.WHITE) {
+			long push = (bit << 8) & empty;
+			targets = push;
+			if (y == 1) {
+				targets |= (push << 8) & empty;
 			}
 		} else {
-			if (Math.abs(this.x - toX) == 1 && this.y - 1 == toY
-					&& (board.getFigure(toX, toY) != null && board.getFigure(toX, toY).getOwner() == Player.WHITE)) {
-				return true;
+			long push = (bit >>> 8) & empty;
+			targets = push;
+			if (y == 6) {
+				targets |= (push >>> 8) & empty;
 			}
 		}
+		targets |= Bitboard.getPawnAttacks(Bitboard.square(x, y), owner) & board.getBitboard(owner.getOpponent());
 
 		// en passant
-		if (board.getCurrentPlayer() == Player.BLACK) {
-
-			if (board.getMarker(Player.WHITE) == toX && y == 3 && this.owner == Player.BLACK) {
-				enPassant = toX;
-				return true;
-			}
-		} else {
-			if (board.getMarker(Player.BLACK) == toX && y == 4 && this.owner == Player.WHITE) {
-				enPassant = toX;
-				return true;
-			}
-		}
-		return false;
-	}
-
-	@Override
-	protected Figure clone(Board board) {
-		return new Pawn(this.owner, board, this.x, this.y);
-	}
-
-	@Override
-	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			if (enPassant != -1) {
-				ret.removeFigure(enPassant, y);
-			}
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			ret.setMarker(owner, startMove);
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
-			}
+		int marker = board.getMarker(owner.getOpponent());
+		int rank = (owner == Player.WHITE) ? 4 : 3;
+		if ((marker != -1) && (board.getCurrentPlayer() == owner) && (y == rank) && (Math.abs(marker - x) == 1)) {
+			targets |= Bitboard.bit(marker, (owner == Player.WHITE) ? 5 : 2);
 		}
-		enPassant = -1;
-		return ret;
+		return targets;
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = Pawn.VALUE;
 		switch (owner) {
 		case WHITE:
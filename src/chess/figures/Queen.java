@@ -1,5 +1,6 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
@@ -9,7 +10,7 @@ public class Queen extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 900;
+	public final static int VALUE = 900;
 
 	/**
 	 * The evaluation matrix.
@@ -27,102 +28,30 @@ public class Queen extends Figure {
 			// @formatter:on
 	};
 
-	public Queen(Player owner, Board game, int x, int y) {
-		super(owner, game, x, y);
+	public Queen(Player owner) {
+		super(owner);
 	}
 
 	@Override
-	public String toString() {
-		return super.toString() + 'Q';
+	public int getType() {
+		return QUEEN;
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
-		}
-
-		// TODO: Check this very well!!!
-
-		// like the bishop
-		// check if the to-Position is on a diagonal
-		int distanceX = Math.abs(toX - x);
-
-		// check if the to-Position is on a diagonal
-		if (distanceX == Math.abs(toY - y)) {
-
-			// check if something is in between
-			if (toX > x) {
-
-				for (int i = 1; i < distanceX; i++) {
-
-					if (toY > y && board.getFigure(x + i, y + i) != null) {
-						return false;
-					}
-
-					if (toY < y && board.getFigure(x + i, y - i) != null) {
-						return false;
-					}
-				}
-
-			} else { // toX < x
-
-				for (int i = 1; i < distanceX; i++) {
-
-					if (toY > y && board.getFigure(x - i, y + i) != null) {
-						return false;
-					}
-
-					if (toY < y && board.getFigure(x - i, y - i) != null) {
-						return false;
-					}
-
-				}
-			}
-
-			// nothing is in between
-			return true;
-		}
-
-		// like the rook
-		if (toX - x == 0) { // move on y-axis
-
-			// check if there are figures in between
-			int i = (toY > y) ? y : toY;
-			int toI = (toY > y) ? toY : y;
-
-			for (i = i + 1; i < toI; i++) {
-				if (this.board.getFigure(x, i) != null) {
-					return false;
-				}
-			}
-
-			return true;
-
-		} else if (toY - y == 0) { // move on x-axis
-
-			// check if there are figures in between
-			int i = (toX > x) ? x : toX;
-			int toI = (toX > x) ? toX : x;
-
-			for (i = i + 1; i < toI; i++) {
-				if (this.board.getFigure(i, y) != null) {
-					return false;
-				}
-			}
-			return true;
-		}
-
-		return false;
+	public String toString() {
+		return super.toString() + 'Q';
 	}
 
 	@Override
-	protected Figure clone(Board board) {
-		return new Queen(this.owner, board, this.x, this.y);
+	public long getTargets(Board board, int x, int y) {
+		int square = Bitboard.square(x, y);
+		long occupied = board.getOccupied();
+		return (Bitboard.rookAttacks(square, occupied) | Bitboard.bishopAttacks(square, occupied))
+				& ~board.getBitboard(owner);
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = Queen.VALUE;
 		switch (owner) {
 		case WHITE:
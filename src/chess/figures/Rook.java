@@ -1,21 +1,16 @@
 package chess.figures;
 
+import chess.Bitboard;
 import chess.Figure;
 import chess.Board;
 import chess.Player;
 
 public class Rook extends Figure {
 
-	/**
-	 * true if the piece has already been moved in this game false if the piece
-	 * has not been moved in this game so far
-	 */
-	private boolean hasBeenMoved;
-
 	/**
 	 * The base value.
 	 */
-	private static final int VALUE = 500;
+	public static final int VALUE = 500;
 
 	/**
 	 * The evaluation matrix.
@@ -33,18 +28,13 @@ public class Rook extends Figure {
 			// @formatter:on
 	};
 
-	public Rook(Player owner, Board game, int x, int y) {
-		super(owner, game, x, y);
-		hasBeenMoved = false;
+	public Rook(Player owner) {
+		super(owner);
 	}
 
-	private Rook(Player owner, Board game, int x, int y, boolean hasBeenMoved) {
-		super(owner, game, x, y);
-		this.hasBeenMoved = hasBeenMoved;
-	}
-
-	public boolean isHasBeenMoved() {
-		return hasBeenMoved;
+	@Override
+	public int getType() {
+		return ROOK;
 	}
 
 	@Override
@@ -53,64 +43,12 @@ public class Rook extends Figure {
 	}
 
 	@Override
-	protected boolean isSquareReachable(int toX, int toY) {
-
-		if (!super.isSquareReachable(toX, toY)) {
-			return false;
-		}
-
-		if (toX == x) { // move on y-axis
-
-			// check if there are figures in between
-			int i = Math.min(y, toY);
-			int toI = Math.max(y, toY);
-
-			for (i = i + 1; i < toI; i++) {
-				if (this.board.getFigure(x, i) != null) {
-					return false;
-				}
-			}
-
-			//hasBeenMoved = true;
-			return true;
-
-		} else if (toY == y) { // move on x-axis
-
-			// check if there are figures in between
-			int i = Math.min(x, toX);
-			int toI = Math.max(x, toX);
-
-			for (i = i + 1; i < toI; i++) {
-				if (this.board.getFigure(i, y) != null) {
-					return false;
-				}
-			}
-			//hasBeenMoved = true;
-			return true;
-		}
-
-		return false;
-	}
-
-	@Override 
-	public Board move(int toX, int toY) {
-		Board temp = super.move(toX, toY);
-		if (temp != null && temp.getFigure(toX, toY) != null ) {
-			((Rook)temp.getFigure(toX, toY)).hasBeenMoved = true;	
-			temp.updateStatus();
-			temp.evaluate();
-		}
-		
-		return temp;
-	}
-	
-	@Override
-	protected Figure clone(Board board) {
-		return new Rook(this.owner, board, this.x, this.y, this.hasBeenMoved);
+	public long getTargets(Board board, int x, int y) {
+		return Bitboard.rookAttacks(Bitboard.square(x, y), board.getOccupied()) & ~board.getBitboard(owner);
 	}
 
 	@Override
-	public int getValue() {
+	public int getValue(Board board, int x, int y) {
 		int value = Rook.VALUE;
 		switch (owner) {
 		case WHITE:
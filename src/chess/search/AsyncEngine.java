@@ -0,0 +1,256 @@
+package chess.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import chess.Board;
+
+/**
+ * Runs the searches of an {@link Engine} on a dedicated thread, so that the
+ * calling thread, e.g. the thread of a user interface, is never blocked.
+ * <br>
+ * The searches are run one after another in the order they were requested.
+ * Each one is represented by a {@link CompletableFuture}. Cancelling it stops
+ * the search cooperatively: the engine is stopped and the search thread is
+ * interrupted, and the future isn't completed with a result anymore.
+ * <br>
+ * While the opponent is thinking, the engine can ponder: it searches the
+ * board after the reply it expects, see {@link #ponder(Board, int, Limits)}.
+ * If the opponent makes that reply, the next search of the board just
+ * continues the pondering, which may even be done already. Otherwise the
+ * pondering is stopped, but the new search still profits from the boards it
+ * has stored in the transposition table.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class AsyncEngine {
+
+	/**
+	 * The engine.
+	 */
+	private final Engine engine;
+
+	/**
+	 * Runs the searches.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The requests which haven't been completed yet.
+	 */
+	private final Set<CompletableFuture<SearchResult>> requests;
+
+	/**
+	 * The request of the running search, {@code null} if no search is
+	 * running.
+	 */
+	private CompletableFuture<SearchResult> running;
+
+	/**
+	 * The thread running the search.
+	 */
+	private Thread runner;
+
+	/**
+	 * The request of the pondering, {@code null} if the engine isn't
+	 * pondering.
+	 */
+	private CompletableFuture<SearchResult> pondering;
+
+	/**
+	 * The key of the board the engine is pondering on, see
+	 * {@link Board#getKey()}.
+	 */
+	private long ponderKey;
+
+	/**
+	 * The limits of the pondering.
+	 */
+	private Limits ponderLimits;
+
+	/**
+	 * Creates a new asynchronous engine with its own search thread.
+	 *
+	 * @param engine
+	 *            the engine, which shall not be used by other threads at the
+	 *            same time
+	 */
+	public AsyncEngine(Engine engine) {
+		this.engine = engine;
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "engine");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.requests = new HashSet<>();
+	}
+
+	/**
+	 * Requests a search of the best move of the current player. The board is
+	 * copied right away, so it may be changed afterwards. If the engine is
+	 * pondering on the same board with the same limits, the request of the
+	 * pondering is returned. Any other pondering is cancelled.
+	 *
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *             if this engine has been shut down
+	 * @param board
+	 *            the board
+	 * @param limits
+	 *            the limits of the search
+	 * @return the result, which is completed on the search thread, or which
+	 *         can be cancelled to stop the search
+	 */
+	public CompletableFuture<SearchResult> search(Board board, Limits limits) {
+		CompletableFuture<SearchResult> previous;
+		synchronized (this) {
+			previous = pondering;
+			pondering = null;
+			if (previous != null && !previous.isCompletedExceptionally() && ponderKey == board.getKey()
+					&& ponderLimits.equals(limits)) {
+				// the expected reply has been made
+				return previous;
+			}
+		}
+		if (previous != null) {
+			previous.cancel(false);
+		}
+		Board copy = board.clone();
+		CompletableFuture<SearchResult> request = new CompletableFuture<>();
+		synchronized (this) {
+			requests.add(request);
+		}
+		request.whenComplete((result, e) -> finish(request, e instanceof CancellationException));
+		executor.execute(() -> run(request, copy, limits));
+		return request;
+	}
+
+	/**
+	 * Starts pondering: the board after the expected reply of the opponent is
+	 * searched in the background, until the next search is requested. The
+	 * expected reply is usually the second move of the principal variation,
+	 * see {@link SearchResult#getPrincipalVariation()}.
+	 *
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *             if this engine has been shut down
+	 * @param board
+	 *            the board, on which the opponent has to move
+	 * @param reply
+	 *            the expected reply, see {@link chess.Move}
+	 * @param limits
+	 *            the limits of the next search
+	 * @return {@code true}, if the engine ponders, {@code false}, if the
+	 *         reply isn't valid
+	 */
+	public boolean ponder(Board board, int reply, Limits limits) {
+		Board next = board.move(reply);
+		if (next == null) {
+			return false;
+		}
+		CompletableFuture<SearchResult> request = search(next, limits);
+		synchronized (this) {
+			pondering = request;
+			ponderKey = next.getKey();
+			ponderLimits = limits;
+		}
+		return true;
+	}
+
+	/**
+	 * Runs a search on the search thread, unless it has already been
+	 * cancelled.
+	 *
+	 * @param request
+	 *            the request
+	 * @param board
+	 *            the copy of the board
+	 * @param limits
+	 *            the limits of the search
+	 */
+	private void run(CompletableFuture<SearchResult> request, Board board, Limits limits) {
+		synchronized (this) {
+			if (request.isDone()) {
+				return;
+			}
+			running = request;
+			runner = Thread.currentThread();
+		}
+		try {
+			request.complete(engine.search(board, limits));
+		} catch (RuntimeException e) {
+			request.completeExceptionally(e);
+		} finally {
+			synchronized (this) {
+				running = null;
+				runner = null;
+				// a cancellation must not stop the next search
+				Thread.interrupted();
+			}
+		}
+	}
+
+	/**
+	 * Forgets a completed request. If it has been cancelled while its search
+	 * is running, the search is stopped.
+	 *
+	 * @param request
+	 *            the completed request
+	 * @param cancelled
+	 *            whether the request has been cancelled
+	 */
+	private synchronized void finish(CompletableFuture<SearchResult> request, boolean cancelled) {
+		requests.remove(request);
+		if (cancelled && running == request) {
+			runner.interrupt();
+			engine.stop();
+		}
+	}
+
+	/**
+	 * Stops the running search and cancels all requested searches, including
+	 * the pondering.
+	 */
+	public void cancel() {
+		List<CompletableFuture<SearchResult>> cancelled;
+		synchronized (this) {
+			pondering = null;
+			cancelled = new ArrayList<>(requests);
+		}
+		for (CompletableFuture<SearchResult> request : cancelled) {
+			request.cancel(false);
+		}
+	}
+
+	/**
+	 * Cancels all searches and stops the search thread. The threads of the
+	 * engine are shut down, too, as soon as the running search has stopped,
+	 * see {@link Engine#shutdown()}. No searches can be requested afterwards.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (executor.isShutdown()) {
+				return;
+			}
+			// runs after all requested searches, which are cancelled below
+			executor.execute(engine::shutdown);
+			executor.shutdown();
+		}
+		cancel();
+	}
+
+	/**
+	 * Returns the engine, e.g. to change its number of threads before the
+	 * next search.
+	 *
+	 * @return the engine
+	 */
+	public Engine getEngine() {
+		return engine;
+	}
+
+}
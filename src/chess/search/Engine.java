@@ -0,0 +1,312 @@
+package chess.search;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.Board;
+import chess.Move;
+
+/**
+ * The A.I., which searches the best move of a board on one or more threads.
+ * How the threads work together depends on the {@link ParallelMode}.
+ * <br>
+ * With {@link ParallelMode#LAZY_SMP}, all threads search the same board,
+ * each on its own copy, because a board is changed in place while it is
+ * searched. They only share the lock-free {@link TranspositionTable}, so
+ * every thread profits from the results of the others. Half of the helper
+ * threads start one ply deeper, so the threads spread over different
+ * depths. The move of the main thread is returned, the helpers are stopped
+ * as soon as it is done. A node limit applies to the boards searched by all
+ * threads together.
+ * <br>
+ * With {@link ParallelMode#ROOT_SPLITTING}, the moves of the board are split
+ * among the threads of a {@link ForkJoinPool}, see {@link RootSplitter}.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class Engine {
+
+	/**
+	 * The transposition table, which is shared by all threads and kept
+	 * between searches.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * The switches and margins of the selective techniques.
+	 */
+	private SearchOptions options;
+
+	/**
+	 * The number of threads.
+	 */
+	private int threads;
+
+	/**
+	 * How the threads work together.
+	 */
+	private ParallelMode mode;
+
+	/**
+	 * The pool for {@link ParallelMode#ROOT_SPLITTING}, {@code null} until it
+	 * is needed.
+	 */
+	private ForkJoinPool pool;
+
+	/**
+	 * Stops the running search, {@code null} if no search is running.
+	 */
+	private Runnable stopper;
+
+	/**
+	 * Creates a new engine.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the size or the number of threads is less than one, or
+	 *             if the size exceeds {@link TranspositionTable#MAX_SIZE}
+	 * @param tableSize
+	 *            the size of the transposition table in megabytes
+	 * @param threads
+	 *            the number of threads
+	 */
+	public Engine(int tableSize, int threads) {
+		this.table = new TranspositionTable(tableSize);
+		this.options = new SearchOptions();
+		this.mode = ParallelMode.LAZY_SMP;
+		setThreads(threads);
+	}
+
+	/**
+	 * Searches the best move of the current player. The board is not changed
+	 * and not referenced by the result. The search can be stopped by another
+	 * thread, either by {@link #stop()} or by interrupting the calling thread.
+	 * All threads of the search notice this within 1024 boards. The interrupt
+	 * is kept for the caller.
+	 *
+	 * @param board
+	 *            the board
+	 * @param limits
+	 *            the limits of the search
+	 * @return the result, whose best move is {@link Move#NONE} if the current
+	 *         player can't move
+	 */
+	public SearchResult search(Board board, Limits limits) {
+		if (mode == ParallelMode.ROOT_SPLITTING) {
+			if (pool == null || pool.getParallelism() != threads) {
+				if (pool != null) {
+					pool.shutdown();
+				}
+				pool = new ForkJoinPool(threads);
+			}
+			RootSplitter splitter = new RootSplitter(pool, table, options, board, limits);
+			start(splitter::stop);
+			try {
+				return splitter.search();
+			} finally {
+				finish();
+			}
+		}
+		Search main = new Search(board.clone(), table, options);
+		Search[] helpers = new Search[threads - 1];
+		// helpers run until the main thread stops them, or the shared node budget is spent
+		Limits helperLimits = new Limits(limits.getDepth(), null, limits.getNodes());
+		AtomicLong counter = new AtomicLong();
+		for (int i = 0; i < helpers.length; i++) {
+			helpers[i] = new Search(board.clone(), table, options);
+		}
+		start(() -> {
+			main.stop();
+			for (Search helper : helpers) {
+				helper.stop();
+			}
+		});
+		SearchResult result;
+		try {
+			result = search(main, helpers, limits, helperLimits, counter);
+		} finally {
+			finish();
+		}
+		long nodes = result.getNodes();
+		for (Search helper : helpers) {
+			nodes += helper.getNodes();
+		}
+		return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(),
+				result.getPrincipalVariation(), nodes);
+	}
+
+	/**
+	 * Runs a search with {@link ParallelMode#LAZY_SMP}. The helpers run until
+	 * the main search is done.
+	 *
+	 * @param main
+	 *            the search on the calling thread
+	 * @param helpers
+	 *            the searches on the helper threads
+	 * @param limits
+	 *            the limits of the main search
+	 * @param helperLimits
+	 *            the limits of the helpers
+	 * @param counter
+	 *            the number of boards searched by all threads
+	 * @return the result of the main search
+	 */
+	private static SearchResult search(Search main, Search[] helpers, Limits limits, Limits helperLimits,
+			AtomicLong counter) {
+		Thread[] workers = new Thread[helpers.length];
+		for (int i = 0; i < helpers.length; i++) {
+			Search helper = helpers[i];
+			int firstDepth = 1 + (i + 1) % 2;
+			workers[i] = new Thread(() -> helper.search(helperLimits, firstDepth, counter), "search-" + (i + 1));
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+		try {
+			return main.search(limits, 1, counter);
+		} finally {
+			for (Search helper : helpers) {
+				helper.stop();
+			}
+			for (Thread worker : workers) {
+				join(worker);
+			}
+		}
+	}
+
+	/**
+	 * Stops the running search as soon as possible. It returns the result of
+	 * its last completed iteration then. If no search is running, nothing
+	 * happens. This may be called by any thread.
+	 */
+	public synchronized void stop() {
+		if (stopper != null) {
+			stopper.run();
+		}
+	}
+
+	/**
+	 * Registers the search which is about to run, so that it can be stopped.
+	 * If the calling thread has already been interrupted, it is stopped right
+	 * away.
+	 *
+	 * @param stopper
+	 *            stops the search
+	 */
+	private synchronized void start(Runnable stopper) {
+		this.stopper = stopper;
+		if (Thread.currentThread().isInterrupted()) {
+			stopper.run();
+		}
+	}
+
+	/**
+	 * Unregisters the search which has just finished.
+	 */
+	private synchronized void finish() {
+		this.stopper = null;
+	}
+
+	/**
+	 * Waits for a thread to die. If the current thread is interrupted, the
+	 * interrupt is kept for the caller.
+	 *
+	 * @param thread
+	 *            the thread
+	 */
+	private static void join(Thread thread) {
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the number of threads.
+	 *
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads, which is used from the next search on.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the number is less than one
+	 * @param threads
+	 *            the number of threads
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("At least one thread is needed.");
+		}
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns how the threads work together.
+	 *
+	 * @return the parallel mode
+	 */
+	public ParallelMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Sets how the threads work together, which is used from the next search
+	 * on.
+	 *
+	 * @param mode
+	 *            the parallel mode
+	 */
+	public void setMode(ParallelMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Returns the switches and margins of the selective techniques.
+	 *
+	 * @return the options
+	 */
+	public SearchOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * Sets the switches and margins of the selective techniques, which are
+	 * used from the next search on.
+	 *
+	 * @param options
+	 *            the options
+	 */
+	public void setOptions(SearchOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * Shuts down the threads of {@link ParallelMode#ROOT_SPLITTING}. They are
+	 * created again by the next search, so the engine can still be used. No
+	 * search must be running.
+	 */
+	public void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Removes all results of previous searches.
+	 */
+	public void clear() {
+		table.clear();
+	}
+
+}
@@ -0,0 +1,147 @@
+package chess.search;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The limits of a search. The search deepens iteratively until one of them is
+ * reached.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class Limits {
+
+	/**
+	 * The highest depth a search can reach.
+	 */
+	public static final int MAX_DEPTH = 64;
+
+	/**
+	 * The maximum depth in plies.
+	 */
+	private final int depth;
+
+	/**
+	 * The maximum time in nanoseconds.
+	 */
+	private final long time;
+
+	/**
+	 * The maximum number of searched boards.
+	 */
+	private final long nodes;
+
+	/**
+	 * Creates new limits.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if a limit is less than one
+	 * @param depth
+	 *            the maximum depth in plies, at most {@link #MAX_DEPTH}
+	 * @param time
+	 *            the maximum time, {@code null} for no limit
+	 * @param nodes
+	 *            the maximum number of searched boards,
+	 *            {@link Long#MAX_VALUE} for no limit
+	 */
+	public Limits(int depth, Duration time, long nodes) {
+		if (depth < 1 || nodes < 1 || (time != null && (time.isNegative() || time.isZero()))) {
+			throw new IllegalArgumentException("The limits have to be positive.");
+		}
+		this.depth = Math.min(depth, MAX_DEPTH);
+		this.time = (time == null) ? Long.MAX_VALUE : toNanos(time);
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Creates limits for a fixed depth.
+	 *
+	 * @param depth
+	 *            the depth in plies
+	 * @return the limits
+	 */
+	public static Limits ofDepth(int depth) {
+		return new Limits(depth, null, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Creates limits for a fixed time.
+	 *
+	 * @param time
+	 *            the time
+	 * @return the limits
+	 */
+	public static Limits ofTime(Duration time) {
+		return new Limits(MAX_DEPTH, time, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Creates limits for a fixed number of searched boards.
+	 *
+	 * @param nodes
+	 *            the number of boards
+	 * @return the limits
+	 */
+	public static Limits ofNodes(long nodes) {
+		return new Limits(MAX_DEPTH, null, nodes);
+	}
+
+	/**
+	 * Returns the maximum depth.
+	 *
+	 * @return the maximum depth in plies
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the maximum time.
+	 *
+	 * @return the maximum time in nanoseconds, {@link Long#MAX_VALUE} for no
+	 *         limit
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Returns the maximum number of searched boards.
+	 *
+	 * @return the maximum number of boards, {@link Long#MAX_VALUE} for no
+	 *         limit
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Limits)) {
+			return false;
+		}
+		Limits other = (Limits) obj;
+		return depth == other.depth && time == other.time && nodes == other.nodes;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(depth, time, nodes);
+	}
+
+	/**
+	 * Converts a duration to nanoseconds, without overflowing.
+	 *
+	 * @param time
+	 *            the duration
+	 * @return the nanoseconds
+	 */
+	private static long toNanos(Duration time) {
+		try {
+			return time.toNanos();
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+}
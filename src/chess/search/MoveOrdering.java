@@ -0,0 +1,199 @@
+package chess.search;
+
+import chess.Move;
+import chess.MoveList;
+import chess.Player;
+
+/**
+ * Orders the moves of a search, so that the best moves are likely to be
+ * searched first. This lets alpha-beta cut off as early as possible. Moves
+ * are tried in this order:
+ * <ol>
+ * <li>the move stored in the transposition table</li>
+ * <li>captures and promotions, the most valuable victim first and the least
+ * valuable attacker first among them (MVV-LVA)</li>
+ * <li>the killer moves of the ply, which caused cutoffs in sibling
+ * boards</li>
+ * <li>all other moves, ordered by how often they caused cutoffs before</li>
+ * </ol>
+ * All data is kept in primitive arrays. Each search has its own instance, so
+ * it must not be shared between threads.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class MoveOrdering {
+
+	/**
+	 * The highest ply from the root which keeps killer moves.
+	 */
+	public static final int MAX_PLY = 128;
+
+	/**
+	 * The score of the move stored in the transposition table.
+	 */
+	private static final int HASH_MOVE = 1 << 30;
+
+	/**
+	 * The base score of captures and promotions.
+	 */
+	private static final int CAPTURE = 1 << 28;
+
+	/**
+	 * The score of the first killer move.
+	 */
+	private static final int KILLER_1 = CAPTURE - 1;
+
+	/**
+	 * The score of the second killer move.
+	 */
+	private static final int KILLER_2 = CAPTURE - 2;
+
+	/**
+	 * The maximum history score. All history scores are halved when it is
+	 * reached, so they stay below the score of the killer moves.
+	 */
+	private static final int MAX_HISTORY = 1 << 20;
+
+	/**
+	 * The scores of the moves, indexed by the plies from the root and the
+	 * index of the move.
+	 */
+	private final int[][] scores;
+
+	/**
+	 * The killer moves, indexed by the plies from the root.
+	 */
+	private final int[][] killers;
+
+	/**
+	 * The history scores, indexed by the player's ordinal, the origin and the
+	 * destiny of a move.
+	 */
+	private final int[][][] history;
+
+	/**
+	 * Creates a new move ordering without any killer moves or history.
+	 */
+	public MoveOrdering() {
+		scores = new int[MAX_PLY][MoveList.CAPACITY];
+		killers = new int[MAX_PLY][2];
+		history = new int[2][64][64];
+	}
+
+	/**
+	 * Rates the moves of a board, see {@link #next(MoveList, int, int)}.
+	 *
+	 * @param moves
+	 *            the moves
+	 * @param ply
+	 *            the plies from the root
+	 * @param hashMove
+	 *            the move stored in the transposition table, {@link Move#NONE}
+	 *            if there is none
+	 * @param player
+	 *            the current player
+	 */
+	public void score(MoveList moves, int ply, int hashMove, Player player) {
+		int[] score = scores[Math.min(ply, MAX_PLY - 1)];
+		int[][] own = history[player.ordinal()];
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (move == hashMove) {
+				score[i] = HASH_MOVE;
+			} else if (Move.isCapture(move) || Move.getPromotion(move) != 0) {
+				int[] values = StaticExchange.VALUES;
+				score[i] = CAPTURE + 64 * (values[Move.getCaptured(move)] + values[Move.getPromotion(move)])
+						- values[Move.getFigure(move)] / 100;
+			} else if (ply < MAX_PLY && move == killers[ply][0]) {
+				score[i] = KILLER_1;
+			} else if (ply < MAX_PLY && move == killers[ply][1]) {
+				score[i] = KILLER_2;
+			} else {
+				score[i] = own[Move.getFrom(move)][Move.getTo(move)];
+			}
+		}
+	}
+
+	/**
+	 * Returns the best move which hasn't been searched yet. It is swapped to
+	 * the given index, so the moves before it are the ones already returned.
+	 * The moves have to be rated by {@link #score(MoveList, int, int, Player)}
+	 * before.
+	 *
+	 * @param moves
+	 *            the moves
+	 * @param ply
+	 *            the plies from the root
+	 * @param index
+	 *            the number of moves already returned
+	 * @return the move
+	 */
+	public int next(MoveList moves, int ply, int index) {
+		int[] score = scores[Math.min(ply, MAX_PLY - 1)];
+		int best = index;
+		for (int i = index + 1; i < moves.size(); i++) {
+			if (score[i] > score[best]) {
+				best = i;
+			}
+		}
+		if (best != index) {
+			moves.swap(index, best);
+			int temp = score[index];
+			score[index] = score[best];
+			score[best] = temp;
+		}
+		return moves.get(index);
+	}
+
+	/**
+	 * Remembers a move which caused a cutoff. Only quiet moves are
+	 * remembered, because captures are ordered well anyway.
+	 *
+	 * @param move
+	 *            the move
+	 * @param ply
+	 *            the plies from the root
+	 * @param depth
+	 *            the remaining plies
+	 * @param player
+	 *            the current player
+	 */
+	public void update(int move, int ply, int depth, Player player) {
+		if (Move.isCapture(move) || Move.getPromotion(move) != 0) {
+			return;
+		}
+		if (ply < MAX_PLY && killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[][] own = history[player.ordinal()];
+		own[Move.getFrom(move)][Move.getTo(move)] += depth * depth;
+		if (own[Move.getFrom(move)][Move.getTo(move)] >= MAX_HISTORY) {
+			for (int[][] table : history) {
+				for (int[] from : table) {
+					for (int to = 0; to < 64; to++) {
+						from[to] /= 2;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all killer moves and the history.
+	 */
+	public void clear() {
+		for (int[] killer : killers) {
+			killer[0] = Move.NONE;
+			killer[1] = Move.NONE;
+		}
+		for (int[][] table : history) {
+			for (int[] from : table) {
+				for (int to = 0; to < 64; to++) {
+					from[to] = 0;
+				}
+			}
+		}
+	}
+
+}
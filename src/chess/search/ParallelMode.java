@@ -0,0 +1,23 @@
+package chess.search;
+
+/**
+ * All ways an {@link Engine} can spread a search over several threads.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public enum ParallelMode {
+
+	/**
+	 * All threads search the whole board on their own copy and only share the
+	 * transposition table.
+	 */
+	LAZY_SMP,
+
+	/**
+	 * The moves of the board are split into tasks of a
+	 * {@link java.util.concurrent.ForkJoinPool}. The first move is searched
+	 * alone, the others are searched in parallel with its value as bound.
+	 */
+	ROOT_SPLITTING
+
+}
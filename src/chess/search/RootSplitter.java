@@ -0,0 +1,298 @@
+package chess.search;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.Board;
+import chess.Move;
+import chess.MoveList;
+
+/**
+ * Searches the moves of a board in parallel on a {@link ForkJoinPool}, see
+ * {@link ParallelMode#ROOT_SPLITTING}.<br>
+ * Each iteration first searches the best move of the previous iteration
+ * alone. Its value is a good bound for all other moves, which are then
+ * searched as {@link RecursiveTask}s and stolen by idle threads (young
+ * brothers wait). Like in the sequential search, they are searched with a
+ * null window first. Every task borrows a {@link Search} with its own copy of
+ * the board, so no board is used by two threads at the same time.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+class RootSplitter {
+
+	/**
+	 * The pool running the tasks.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * The shared transposition table.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * The switches and margins of the selective techniques.
+	 */
+	private final SearchOptions options;
+
+	/**
+	 * The board to search.
+	 */
+	private final Board board;
+
+	/**
+	 * The limits of the search.
+	 */
+	private final Limits limits;
+
+	/**
+	 * The value of {@link System#nanoTime()} when the time is up.
+	 */
+	private final long deadline;
+
+	/**
+	 * The thread which has started the search. The searches of the tasks
+	 * stop, if it is interrupted.
+	 */
+	private final Thread caller;
+
+	/**
+	 * The number of boards searched by all searches.
+	 */
+	private final AtomicLong counter;
+
+	/**
+	 * All searches created so far.
+	 */
+	private final Queue<Search> searches;
+
+	/**
+	 * The searches which are not used by a task right now.
+	 */
+	private final Queue<Search> idle;
+
+	/**
+	 * Whether the search has been stopped by another thread.
+	 */
+	private volatile boolean aborted;
+
+	/**
+	 * The value of the best move of the last completed iteration.
+	 */
+	private int score;
+
+	/**
+	 * The last completed iteration.
+	 */
+	private int completedDepth;
+
+	/**
+	 * The principal variation of the last completed iteration.
+	 */
+	private int[] principalVariation;
+
+	/**
+	 * Creates a new search, which is stopped by interrupting the calling
+	 * thread.
+	 *
+	 * @param pool
+	 *            the pool running the tasks
+	 * @param table
+	 *            the shared transposition table
+	 * @param options
+	 *            the switches and margins of the selective techniques
+	 * @param board
+	 *            the board to search, which isn't changed
+	 * @param limits
+	 *            the limits of the search
+	 */
+	RootSplitter(ForkJoinPool pool, TranspositionTable table, SearchOptions options, Board board, Limits limits) {
+		this.pool = pool;
+		this.table = table;
+		this.options = options;
+		this.board = board;
+		this.limits = limits;
+		this.deadline = System.nanoTime() + limits.getTime();
+		this.caller = Thread.currentThread();
+		this.counter = new AtomicLong();
+		this.searches = new ConcurrentLinkedQueue<>();
+		this.idle = new ConcurrentLinkedQueue<>();
+		this.score = 0;
+		this.completedDepth = 0;
+		this.principalVariation = new int[0];
+	}
+
+	/**
+	 * Searches the best move of the current player. The search looks ahead
+	 * one more ply in each iteration, until a limit is reached. The result of
+	 * the last completed iteration is returned. If not even the first
+	 * iteration has been completed, the best move found so far is returned.
+	 *
+	 * @return the result
+	 */
+	SearchResult search() {
+		Search main = borrow();
+		MoveList moves = new MoveList();
+		main.generateRootMoves(moves);
+		if (moves.size() == 0) {
+			// checkmated or stalemated, like in the sequential search
+			int value = board.isInCheck(board.getCurrentPlayer()) ? -Search.MATE : 0;
+			return new SearchResult(Move.NONE, value, 1, new int[0], getNodes());
+		}
+		int bestMove = Move.NONE;
+		for (int depth = 1; depth <= limits.getDepth(); depth++) {
+			int alpha = main.searchRootMove(moves.get(0), depth, -Search.INFINITY);
+			int[] line = main.getLine(moves.get(0));
+			int best = 0;
+			boolean complete = !main.isStopped() && !aborted;
+			if (complete) {
+				MoveTask[] tasks = new MoveTask[moves.size()];
+				for (int i = 1; i < moves.size(); i++) {
+					tasks[i] = new MoveTask(moves.get(i), depth, alpha);
+					pool.execute(tasks[i]);
+				}
+				for (int i = 1; i < moves.size(); i++) {
+					// values above the bound of the task are exact
+					int value = tasks[i].join();
+					complete &= !tasks[i].stopped;
+					if (value > alpha) {
+						alpha = value;
+						best = i;
+						line = tasks[i].line;
+					}
+				}
+			}
+			if (!complete) {
+				if (bestMove == Move.NONE) {
+					bestMove = moves.get(0);
+					principalVariation = new int[] { bestMove };
+				}
+				break;
+			}
+			// the best move is searched first in the next iteration
+			for (int i = best; i > 0; i--) {
+				moves.swap(i, i - 1);
+			}
+			bestMove = moves.get(0);
+			score = alpha;
+			completedDepth = depth;
+			principalVariation = line;
+			table.store(board.getKey(), bestMove, depth, alpha, TranspositionTable.EXACT);
+			if (Math.abs(alpha) >= Search.MATE / 2) {
+				// the shortest mate has been found
+				break;
+			}
+		}
+		return new SearchResult(bestMove, score, completedDepth, principalVariation, getNodes());
+	}
+
+	/**
+	 * Stops the search as soon as possible. This may be called by any thread.
+	 */
+	void stop() {
+		aborted = true;
+		for (Search search : searches) {
+			search.stop();
+		}
+	}
+
+	/**
+	 * Returns the number of boards searched by all searches.
+	 *
+	 * @return the number of boards
+	 */
+	private long getNodes() {
+		long nodes = 0L;
+		for (Search search : searches) {
+			nodes += search.getNodes();
+		}
+		return nodes;
+	}
+
+	/**
+	 * Returns an idle search, or creates a new one.
+	 *
+	 * @return the search
+	 */
+	private Search borrow() {
+		Search search = idle.poll();
+		if (search == null) {
+			search = new Search(board.clone(), table, options);
+			search.prepare(limits, deadline, counter, caller);
+			searches.add(search);
+			if (aborted) {
+				search.stop();
+			}
+		}
+		return search;
+	}
+
+	/**
+	 * Searches a single move of the board.
+	 */
+	private class MoveTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The move.
+		 */
+		private final int move;
+
+		/**
+		 * Number of plies to look ahead, including the move.
+		 */
+		private final int depth;
+
+		/**
+		 * The value of the best move searched before.
+		 */
+		private final int alpha;
+
+		/**
+		 * Whether the search of the move has been stopped, so its value is
+		 * meaningless.
+		 */
+		private boolean stopped;
+
+		/**
+		 * The move followed by the best line found after it.
+		 */
+		private int[] line;
+
+		/**
+		 * Creates a new task.
+		 *
+		 * @param move
+		 *            the move
+		 * @param depth
+		 *            number of plies to look ahead, including the move
+		 * @param alpha
+		 *            the value of the best move searched before
+		 */
+		private MoveTask(int move, int depth, int alpha) {
+			this.move = move;
+			this.depth = depth;
+			this.alpha = alpha;
+		}
+
+		@Override
+		protected Integer compute() {
+			Search search = borrow();
+			try {
+				int value = search.searchRootMove(move, depth, alpha);
+				stopped = search.isStopped();
+				line = search.getLine(move);
+				return value;
+			} finally {
+				idle.add(search);
+			}
+		}
+
+	}
+
+}
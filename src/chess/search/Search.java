@@ -0,0 +1,773 @@
+package chess.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.Board;
+import chess.Figure;
+import chess.Move;
+import chess.MoveList;
+import chess.Player;
+
+/**
+ * Searches the best move of a board with a
+ * <a href="https://en.wikipedia.org/wiki/Negamax">negamax</a> search and
+ * <a href="https://en.wikipedia.org/wiki/Alpha%E2%80%93beta_pruning">alpha-beta
+ * pruning</a>. The search deepens iteratively until its {@link Limits} are
+ * reached. At the end of each line, captures are searched further until the
+ * position is quiet. Boards which are very likely irrelevant are pruned or
+ * reduced, see {@link SearchOptions}. Only the first move of a board is
+ * searched with the full window, all others are first searched with a null
+ * window, which just proves that they are worse (principal variation
+ * search). The moves are searched in the order of a {@link MoveOrdering}. All
+ * moves are made and taken back on the given board, so it is
+ * unchanged after the search.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class Search {
+
+	/**
+	 * The value of a checkmate. A player who is checkmated gets this value
+	 * minus the number of plies from the root, so earlier mates are worse.
+	 */
+	public static final int MATE = 1000000;
+
+	/**
+	 * A value which is higher than every possible value of a board.
+	 */
+	public static final int INFINITY = 2 * MATE;
+
+	/**
+	 * The number of times an aspiration window is widened, before the search
+	 * is repeated with the full window.
+	 */
+	private static final int ASPIRATION_ATTEMPTS = 4;
+
+	/**
+	 * The board which is searched.
+	 */
+	private final Board board;
+
+	/**
+	 * The transposition table.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * Reusable move lists, indexed by the plies from the root.
+	 */
+	private MoveList[] moveLists;
+
+	/**
+	 * The move ordering.
+	 */
+	private final MoveOrdering ordering;
+
+	/**
+	 * The switches and margins of the selective techniques.
+	 */
+	private final SearchOptions options;
+
+	/**
+	 * The number of searched boards.
+	 */
+	private long nodes;
+
+	/**
+	 * The number of boards searched by all searches working on the same
+	 * board, {@code null} if this search works alone. It is only updated
+	 * every 1024 boards.
+	 */
+	private AtomicLong counter;
+
+	/**
+	 * The limits of the current search.
+	 */
+	private Limits limits;
+
+	/**
+	 * The value of {@link System#nanoTime()} when the time is up.
+	 */
+	private long deadline;
+
+	/**
+	 * Whether the current search has been stopped because a limit was reached.
+	 */
+	private boolean stopped;
+
+	/**
+	 * Whether the search has been stopped by another thread, see
+	 * {@link #stop()}.
+	 */
+	private volatile boolean aborted;
+
+	/**
+	 * The thread which has started the search. Interrupting it stops the
+	 * search, even if the search runs on another thread.
+	 */
+	private Thread caller;
+
+	/**
+	 * The value of the best move of the last completed depth.
+	 */
+	private int score;
+
+	/**
+	 * The last completed depth.
+	 */
+	private int completedDepth;
+
+	/**
+	 * The best lines found so far, indexed by the plies from the root where
+	 * they start. The line starting at a ply is stored from that index on.
+	 */
+	private final int[][] lines;
+
+	/**
+	 * The end of the best lines, indexed by the plies from the root where they
+	 * start.
+	 */
+	private final int[] lineEnds;
+
+	/**
+	 * The buffer of the static exchange evaluation, see
+	 * {@link StaticExchange#evaluate(Board, int, int[])}.
+	 */
+	private final int[] exchangeGains;
+
+	/**
+	 * The best move of the current iteration found so far.
+	 */
+	private int rootMove;
+
+	/**
+	 * Creates a new search with the default options.
+	 *
+	 * @param board
+	 *            the board to search
+	 * @param table
+	 *            the transposition table
+	 */
+	public Search(Board board, TranspositionTable table) {
+		this(board, table, new SearchOptions());
+	}
+
+	/**
+	 * Creates a new search.
+	 *
+	 * @param board
+	 *            the board to search
+	 * @param table
+	 *            the transposition table
+	 * @param options
+	 *            the switches and margins of the selective techniques
+	 */
+	public Search(Board board, TranspositionTable table, SearchOptions options) {
+		this.board = board;
+		this.table = table;
+		this.options = options;
+		this.moveLists = new MoveList[0];
+		this.ordering = new MoveOrdering();
+		this.nodes = 0L;
+		this.score = 0;
+		this.completedDepth = 0;
+		this.lines = new int[MoveOrdering.MAX_PLY + 1][MoveOrdering.MAX_PLY + 1];
+		this.lineEnds = new int[MoveOrdering.MAX_PLY + 1];
+		this.exchangeGains = new int[StaticExchange.BUFFER_SIZE];
+	}
+
+	/**
+	 * Searches the best move of the current player. The search looks ahead
+	 * one more ply in each iteration, until a limit is reached. The result of
+	 * the last completed iteration is returned. If not even the first
+	 * iteration has been completed, the best move found so far is returned.
+	 *
+	 * @param limits
+	 *            the limits of the search
+	 * @return the result
+	 */
+	public SearchResult search(Limits limits) {
+		return search(limits, 1, null);
+	}
+
+	/**
+	 * Searches the best move of the current player, see
+	 * {@link #search(Limits)}. The first iteration may be skipped, so that
+	 * several searches of the same board don't always search the same depth
+	 * at the same time.
+	 *
+	 * @param limits
+	 *            the limits of the search
+	 * @param firstDepth
+	 *            the depth of the first iteration
+	 * @param counter
+	 *            the number of boards searched by all searches working on the
+	 *            same board, which is limited as a whole, {@code null} if
+	 *            this search works alone
+	 * @return the result
+	 */
+	SearchResult search(Limits limits, int firstDepth, AtomicLong counter) {
+		prepare(limits, System.nanoTime() + limits.getTime(), counter, Thread.currentThread());
+		this.score = 0;
+		this.completedDepth = 0;
+		this.rootMove = Move.NONE;
+		ordering.clear();
+		int bestMove = Move.NONE;
+		int[] principalVariation = new int[0];
+		for (int d = Math.min(firstDepth, limits.getDepth()); d <= limits.getDepth(); d++) {
+			int value = searchAspiration(d);
+			if (stopped) {
+				if (bestMove == Move.NONE && rootMove != Move.NONE) {
+					bestMove = rootMove;
+					principalVariation = new int[] { rootMove };
+				}
+				break;
+			}
+			bestMove = rootMove;
+			score = value;
+			completedDepth = d;
+			principalVariation = Arrays.copyOf(lines[0], lineEnds[0]);
+			if (bestMove == Move.NONE || Math.abs(score) >= MATE / 2) {
+				// no moves at all, or the shortest mate has been found
+				break;
+			}
+		}
+		return new SearchResult(bestMove, score, completedDepth, principalVariation, nodes);
+	}
+
+	/**
+	 * Prepares this search for being driven move by move from outside, see
+	 * {@link #searchRootMove(int, int, int)}.
+	 *
+	 * @param limits
+	 *            the limits of the search
+	 * @param deadline
+	 *            the value of {@link System#nanoTime()} when the time is up
+	 * @param counter
+	 *            the number of boards searched by all searches working on the
+	 *            same board, {@code null} if this search works alone
+	 * @param caller
+	 *            the thread which has started the search, whose interrupt
+	 *            stops it
+	 */
+	void prepare(Limits limits, long deadline, AtomicLong counter, Thread caller) {
+		this.limits = limits;
+		this.deadline = deadline;
+		this.counter = counter;
+		this.caller = caller;
+		this.stopped = false;
+		this.nodes = 0L;
+	}
+
+	/**
+	 * Fills a list with the legal moves of the board, ordered for the search.
+	 * The move stored in the transposition table comes first.
+	 *
+	 * @param list
+	 *            the list, which is cleared and filled with the moves
+	 */
+	void generateRootMoves(MoveList list) {
+		MoveList moves = getMoveList(0);
+		board.generateLegalMoves(moves);
+		ordering.score(moves, 0, TranspositionTable.getMove(table.probe(board.getKey())), board.getCurrentPlayer());
+		list.clear();
+		for (int i = 0; i < moves.size(); i++) {
+			list.add(ordering.next(moves, 0, i));
+		}
+	}
+
+	/**
+	 * Returns the value of a single move of the board, see
+	 * {@link #search(int, int, int, int, boolean)}. Unless it is the first
+	 * move, it is searched with a null window first, which is only widened if
+	 * the move turns out to be better than alpha. A value which isn't higher
+	 * than alpha is just an upper bound. The best line after the move can be
+	 * retrieved by {@link #getLine(int)}.
+	 *
+	 * @param move
+	 *            the move, which has to be legal
+	 * @param depth
+	 *            number of plies to look ahead, including the move
+	 * @param alpha
+	 *            the value the current player is already guaranteed,
+	 *            {@code -INFINITY} for the first move
+	 * @return the value of the move for the current player
+	 */
+	int searchRootMove(int move, int depth, int alpha) {
+		board.makeMove(move);
+		int value;
+		if (alpha == -INFINITY) {
+			value = -search(depth - 1, 1, -INFINITY, INFINITY, true);
+		} else {
+			value = -search(depth - 1, 1, -alpha - 1, -alpha, true);
+			if (value > alpha && !stopped) {
+				value = -search(depth - 1, 1, -INFINITY, -alpha, true);
+			}
+		}
+		board.unmakeMove();
+		return value;
+	}
+
+	/**
+	 * Returns a move followed by the best line found after it by the last call
+	 * of {@link #searchRootMove(int, int, int)}.
+	 *
+	 * @param move
+	 *            the move
+	 * @return the line
+	 */
+	int[] getLine(int move) {
+		int[] line = new int[lineEnds[1]];
+		line[0] = move;
+		System.arraycopy(lines[1], 1, line, 1, lineEnds[1] - 1);
+		return line;
+	}
+
+	/**
+	 * Returns whether the search has been stopped, because a limit was
+	 * reached or {@link #stop()} was called.
+	 *
+	 * @return {@code true}, if the search has been stopped
+	 */
+	boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Stops the search as soon as possible. This may be called by any thread.
+	 * The search returns the result of the last completed iteration then. A
+	 * stopped search stays stopped, even if it hasn't been started yet.
+	 */
+	public void stop() {
+		aborted = true;
+	}
+
+	/**
+	 * Returns the number of boards searched so far.
+	 *
+	 * @return the number of boards
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Searches all moves of the root with a fixed depth. If aspiration
+	 * windows are switched on, the search is started with a narrow window
+	 * around the value of the previous iteration. Most of the time, the value
+	 * stays inside of it and many moves are cut off earlier. Otherwise the
+	 * window is widened and the search is repeated, with the full window
+	 * after {@link #ASPIRATION_ATTEMPTS} failures.
+	 *
+	 * @param depth
+	 *            number of plies to look ahead
+	 * @return the value of the best move, meaningless if the search is
+	 *         stopped
+	 */
+	private int searchAspiration(int depth) {
+		int delta = options.getAspirationWindow();
+		int alpha = -INFINITY;
+		int beta = INFINITY;
+		if (options.isAspiration() && completedDepth > 0 && Math.abs(score) < MATE / 2) {
+			alpha = score - delta;
+			beta = score + delta;
+		}
+		int attempts = 0;
+		while (true) {
+			int value = searchRoot(depth, alpha, beta);
+			if (stopped) {
+				return value;
+			}
+			boolean failLow = value <= alpha && alpha > -INFINITY;
+			boolean failHigh = value >= beta && beta < INFINITY;
+			if (!failLow && !failHigh) {
+				return value;
+			}
+			if (++attempts >= ASPIRATION_ATTEMPTS) {
+				alpha = -INFINITY;
+				beta = INFINITY;
+			} else if (failLow) {
+				alpha = Math.max(alpha - delta, -INFINITY);
+			} else {
+				beta = Math.min(beta + delta, INFINITY);
+			}
+			delta *= 2;
+		}
+	}
+
+	/**
+	 * Searches all moves of the root with a fixed depth. The best move is
+	 * stored in {@link #rootMove}. If the search is stopped, the result is
+	 * incomplete.
+	 *
+	 * @param depth
+	 *            number of plies to look ahead
+	 * @param alpha
+	 *            the lower bound of the window
+	 * @param beta
+	 *            the upper bound of the window
+	 * @return the value of the best move, just a bound if it is outside of the
+	 *         window
+	 */
+	private int searchRoot(int depth, int alpha, int beta) {
+		int window = alpha;
+		int best = -INFINITY;
+		int bestMove = Move.NONE;
+		int searched = 0;
+		lineEnds[0] = 0;
+		MoveList moves = getMoveList(0);
+		board.generateLegalMoves(moves);
+		// the best move of the previous iteration is searched first
+		ordering.score(moves, 0, TranspositionTable.getMove(table.probe(board.getKey())), board.getCurrentPlayer());
+		for (int i = 0; i < moves.size(); i++) {
+			int move = ordering.next(moves, 0, i);
+			board.makeMove(move);
+			int value;
+			if (searched == 0) {
+				value = -search(depth - 1, 1, -beta, -alpha, true);
+			} else {
+				value = -search(depth - 1, 1, -alpha - 1, -alpha, true);
+				if (value > alpha && value < beta && !stopped) {
+					value = -search(depth - 1, 1, -beta, -alpha, true);
+				}
+			}
+			board.unmakeMove();
+			searched++;
+			if (bestMove == Move.NONE) {
+				bestMove = move;
+			}
+			if (stopped) {
+				break;
+			}
+			if (value > best) {
+				best = value;
+				bestMove = move;
+				if (value > alpha) {
+					alpha = value;
+					updateLine(0, move);
+					if (value >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		rootMove = bestMove;
+		if (bestMove != Move.NONE && !stopped && best > -INFINITY) {
+			int bound = (best >= beta) ? TranspositionTable.LOWER
+					: (best > window) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+			table.store(board.getKey(), bestMove, depth, toTable(best, 0), bound);
+		} else if (searched == 0) {
+			// checkmated or stalemated
+			return board.isInCheck(board.getCurrentPlayer()) ? -MATE : 0;
+		}
+		return best;
+	}
+
+	/**
+	 * Stores a move followed by the best line of the next ply as the best line
+	 * of a ply.
+	 *
+	 * @param ply
+	 *            the plies from the root
+	 * @param move
+	 *            the move
+	 */
+	private void updateLine(int ply, int move) {
+		int[] line = lines[ply];
+		line[ply] = move;
+		int end = Math.max(lineEnds[ply + 1], ply + 1);
+		System.arraycopy(lines[ply + 1], ply + 1, line, ply + 1, end - ply - 1);
+		lineEnds[ply] = end;
+	}
+
+	/**
+	 * Returns whether a limit has been reached or the search has been stopped,
+	 * either by {@link #stop()} or by interrupting the calling thread. The
+	 * clock, the stop flag, the interrupt and the shared counter are only read
+	 * every 1024 boards, because this is rather expensive.
+	 *
+	 * @return {@code true}, if the search has to stop
+	 */
+	private boolean isLimitReached() {
+		if (nodes >= limits.getNodes()) {
+			stopped = true;
+		} else if ((nodes & 1023) == 0 && (aborted || caller.isInterrupted()
+				|| (limits.getTime() != Long.MAX_VALUE && System.nanoTime() - deadline >= 0)
+				|| (counter != null && counter.addAndGet(1024) >= limits.getNodes()))) {
+			stopped = true;
+		}
+		return stopped;
+	}
+
+	/**
+	 * Returns the value of the board for the current player, looking ahead a
+	 * number of plies. Only values between alpha and beta are exact, a value
+	 * outside of this window is just a bound. If the search is stopped, the
+	 * value is meaningless.
+	 *
+	 * @param depth
+	 *            the remaining plies
+	 * @param ply
+	 *            the plies from the root
+	 * @param alpha
+	 *            the value the current player is already guaranteed
+	 * @param beta
+	 *            the value the opponent is already guaranteed, negated
+	 * @param nullMove
+	 *            {@code false}, if the previous move was a null move, so the
+	 *            current player must not pass again
+	 * @return the value for the current player
+	 */
+	private int search(int depth, int ply, int alpha, int beta, boolean nullMove) {
+		lineEnds[ply] = ply;
+		if (depth <= 0) {
+			return quiesce(ply, alpha, beta);
+		}
+		nodes++;
+		if (isLimitReached()) {
+			return 0;
+		}
+		long data = table.probe(board.getKey());
+		// a cutoff in the principal variation would cut off its line, too
+		if (data != 0 && beta - alpha == 1 && TranspositionTable.getDepth(data) >= depth) {
+			int score = fromTable(TranspositionTable.getScore(data), ply);
+			int bound = TranspositionTable.getBound(data);
+			if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+					|| (bound == TranspositionTable.UPPER && score <= alpha)) {
+				return score;
+			}
+		}
+		Player player = board.getCurrentPlayer();
+		boolean inCheck = board.isInCheck(player);
+		int eval = inCheck ? -INFINITY : board.getValue();
+		if (!inCheck && options.isRazoring() && depth <= options.getFrontierDepth()
+				&& eval + options.getRazorMargin() * depth <= alpha) {
+			int value = quiesce(ply, alpha, beta);
+			if (stopped || value <= alpha) {
+				return value;
+			}
+		}
+		if (!inCheck && nullMove && options.isNullMove() && depth > options.getNullMoveReduction()
+				&& eval >= beta && beta < MATE / 2 && hasFigures(player)) {
+			board.makeNullMove();
+			int value = -search(depth - 1 - options.getNullMoveReduction(), ply + 1, -beta, -beta + 1, false);
+			board.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (value >= beta) {
+				// a mate found after passing is not proven
+				return (value >= MATE / 2) ? beta : value;
+			}
+		}
+		int futilityValue = eval + options.getFutilityMargin() * depth;
+		boolean futile = !inCheck && options.isFutility() && depth <= options.getFrontierDepth()
+				&& futilityValue <= alpha;
+		int best = -INFINITY;
+		int bestMove = Move.NONE;
+		int bound = TranspositionTable.UPPER;
+		int searched = 0;
+		MoveList moves = getMoveList(ply);
+		board.generateLegalMoves(moves);
+		ordering.score(moves, ply, TranspositionTable.getMove(data), player);
+		for (int i = 0; i < moves.size(); i++) {
+			int move = ordering.next(moves, ply, i);
+			board.makeMove(move);
+			boolean quiet = !Move.isCapture(move) && Move.getPromotion(move) == 0
+					&& !board.isInCheck(board.getCurrentPlayer());
+			if (futile && quiet && searched > 0) {
+				board.unmakeMove();
+				best = Math.max(best, futilityValue);
+				continue;
+			}
+			int value;
+			if (searched == 0) {
+				value = -search(depth - 1, ply + 1, -beta, -alpha, true);
+			} else {
+				int reduction = 0;
+				if (!inCheck && quiet && options.isLateMoveReductions() && depth >= options.getLateMoveDepth()
+						&& i >= options.getLateMoveIndex()) {
+					reduction = options.getLateMoveReduction();
+				}
+				value = -search(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+				if (value > alpha && reduction > 0 && !stopped) {
+					// the reduced search may have missed something
+					value = -search(depth - 1, ply + 1, -alpha - 1, -alpha, true);
+				}
+				if (value > alpha && value < beta && !stopped) {
+					// the move is better than the first one, so its exact value is needed
+					value = -search(depth - 1, ply + 1, -beta, -alpha, true);
+				}
+			}
+			board.unmakeMove();
+			searched++;
+			if (stopped) {
+				return 0;
+			}
+			if (value > best) {
+				best = value;
+				bestMove = move;
+				if (value > alpha) {
+					alpha = value;
+					bound = TranspositionTable.EXACT;
+					updateLine(ply, move);
+					if (value >= beta) {
+						bound = TranspositionTable.LOWER;
+						ordering.update(move, ply, depth, player);
+						break;
+					}
+				}
+			}
+		}
+		if (searched == 0) {
+			// checkmated or stalemated
+			best = inCheck ? -MATE + ply : 0;
+			bound = TranspositionTable.EXACT;
+		}
+		table.store(board.getKey(), bestMove, depth, toTable(best, ply), bound);
+		return best;
+	}
+
+	/**
+	 * Returns whether a player has figures other than pawns and the king.
+	 * Without them, passing the right to move is often better than every
+	 * real move (zugzwang), so null moves would give wrong results.
+	 *
+	 * @param player
+	 *            the player
+	 * @return {@code true}, if the player has at least one such figure
+	 */
+	private boolean hasFigures(Player player) {
+		return (board.getBitboard(player) & ~board.getBitboard(player, Figure.PAWN)
+				& ~board.getBitboard(player, Figure.KING)) != 0;
+	}
+
+	/**
+	 * Returns the value of the board for the current player, searching only
+	 * captures and promotions until the board is quiet. The current player
+	 * may also stand pat instead of capturing, so the value of the board
+	 * itself is a lower bound. Captures which lose material according to the
+	 * {@link StaticExchange} are skipped. If the current player is in check,
+	 * all moves are searched, because standing pat is not possible then.
+	 *
+	 * @param ply
+	 *            the plies from the root
+	 * @param alpha
+	 *            the value the current player is already guaranteed
+	 * @param beta
+	 *            the value the opponent is already guaranteed, negated
+	 * @return the value for the current player
+	 */
+	private int quiesce(int ply, int alpha, int beta) {
+		lineEnds[ply] = ply;
+		nodes++;
+		if (isLimitReached()) {
+			return 0;
+		}
+		if (ply >= MoveOrdering.MAX_PLY) {
+			// even a chain of checks has to end here
+			return board.getValue();
+		}
+		boolean inCheck = board.isInCheck(board.getCurrentPlayer());
+		int best = -INFINITY;
+		MoveList moves = getMoveList(ply);
+		if (inCheck) {
+			board.generateLegalMoves(moves);
+		} else {
+			best = board.getValue();
+			if (best >= beta) {
+				return best;
+			}
+			alpha = Math.max(alpha, best);
+			board.generateCaptures(moves);
+		}
+		ordering.score(moves, ply, Move.NONE, board.getCurrentPlayer());
+		for (int i = 0; i < moves.size(); i++) {
+			int move = ordering.next(moves, ply, i);
+			if (!inCheck && Move.getPromotion(move) == 0 && StaticExchange.evaluate(board, move, exchangeGains) < 0) {
+				continue;
+			}
+			if (board.makeMove(move)) {
+				int value = -quiesce(ply + 1, -beta, -alpha);
+				board.unmakeMove();
+				if (stopped) {
+					return 0;
+				}
+				if (value > best) {
+					best = value;
+					if (value > alpha) {
+						alpha = value;
+						if (value >= beta) {
+							break;
+						}
+					}
+				}
+			}
+		}
+		if (best == -INFINITY) {
+			// checkmated
+			return -MATE + ply;
+		}
+		return best;
+	}
+
+	/**
+	 * Converts a value into the form stored in the transposition table. The
+	 * value of a mate depends on the plies from the root, so it is stored
+	 * relative to the current board. This way it stays correct if the entry is
+	 * reused at another distance from the root. Values beyond half of a mate
+	 * can only be mates.
+	 *
+	 * @param value
+	 *            the value
+	 * @param ply
+	 *            the plies from the root
+	 * @return the value to store
+	 */
+	private static int toTable(int value, int ply) {
+		if (value <= -MATE / 2) {
+			return value - ply;
+		} else if (value >= MATE / 2) {
+			return value + ply;
+		}
+		return value;
+	}
+
+	/**
+	 * Converts a value stored in the transposition table back, see
+	 * {@link #toTable(int, int)}.
+	 *
+	 * @param value
+	 *            the stored value
+	 * @param ply
+	 *            the plies from the root
+	 * @return the value
+	 */
+	private static int fromTable(int value, int ply) {
+		if (value <= -MATE / 2) {
+			return value + ply;
+		} else if (value >= MATE / 2) {
+			return value - ply;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the reusable move list for a number of plies from the root.
+	 *
+	 * @param ply
+	 *            the plies from the root
+	 * @return the move list
+	 */
+	private MoveList getMoveList(int ply) {
+		if (ply >= moveLists.length) {
+			moveLists = Arrays.copyOf(moveLists, ply + 1);
+		}
+		if (moveLists[ply] == null) {
+			moveLists[ply] = new MoveList();
+		}
+		return moveLists[ply];
+	}
+
+}
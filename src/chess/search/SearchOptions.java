@@ -0,0 +1,393 @@
+package chess.search;
+
+/**
+ * The switches and margins of the selective techniques of a {@link Search}.
+ * They trade exactness for depth: boards which are very likely irrelevant are
+ * searched less deep or not at all.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class SearchOptions {
+
+	/**
+	 * Whether null-move pruning is used. If the current player is so far ahead
+	 * that even passing the right to move doesn't bring the opponent back into
+	 * the game, the board is cut off after a reduced search.
+	 */
+	private boolean nullMove;
+
+	/**
+	 * The number of plies the search after a null move is reduced by, in
+	 * addition to the passed ply.
+	 */
+	private int nullMoveReduction;
+
+	/**
+	 * Whether late-move reductions are used. Quiet moves which are ordered
+	 * late are searched less deep, and only searched again at full depth if
+	 * they turn out to be good.
+	 */
+	private boolean lateMoveReductions;
+
+	/**
+	 * The minimum remaining plies for late-move reductions.
+	 */
+	private int lateMoveDepth;
+
+	/**
+	 * The number of moves which are never reduced, because they are ordered
+	 * first.
+	 */
+	private int lateMoveIndex;
+
+	/**
+	 * The number of plies late moves are reduced by.
+	 */
+	private int lateMoveReduction;
+
+	/**
+	 * Whether futility pruning is used. Quiet moves near the leaves are
+	 * skipped if the value of the board plus a margin can't reach alpha.
+	 */
+	private boolean futility;
+
+	/**
+	 * The futility margin per remaining ply.
+	 */
+	private int futilityMargin;
+
+	/**
+	 * Whether razoring is used. Boards near the leaves, whose value plus a
+	 * margin can't reach alpha, are only searched by the quiescence search.
+	 */
+	private boolean razoring;
+
+	/**
+	 * The razoring margin per remaining ply.
+	 */
+	private int razorMargin;
+
+	/**
+	 * The maximum remaining plies for futility pruning and razoring.
+	 */
+	private int frontierDepth;
+
+	/**
+	 * Whether aspiration windows are used. Each iteration of the search
+	 * starts with a narrow window around the value of the previous one.
+	 */
+	private boolean aspiration;
+
+	/**
+	 * The distance of the bounds of an aspiration window from the previous
+	 * value. It is doubled whenever the value falls outside of the window.
+	 */
+	private int aspirationWindow;
+
+	/**
+	 * Creates new options with all techniques switched on.
+	 */
+	public SearchOptions() {
+		nullMove = true;
+		nullMoveReduction = 2;
+		lateMoveReductions = true;
+		lateMoveDepth = 3;
+		lateMoveIndex = 3;
+		lateMoveReduction = 1;
+		futility = true;
+		futilityMargin = 200;
+		razoring = true;
+		razorMargin = 300;
+		frontierDepth = 2;
+		aspiration = true;
+		aspirationWindow = 50;
+	}
+
+	/**
+	 * Returns whether null-move pruning is used.
+	 *
+	 * @return {@code true}, if null-move pruning is used
+	 */
+	public boolean isNullMove() {
+		return nullMove;
+	}
+
+	/**
+	 * Switches null-move pruning on or off.
+	 *
+	 * @param nullMove
+	 *            {@code true}, if null-move pruning shall be used
+	 */
+	public void setNullMove(boolean nullMove) {
+		this.nullMove = nullMove;
+	}
+
+	/**
+	 * Returns the reduction of the search after a null move.
+	 *
+	 * @return the reduction in plies
+	 */
+	public int getNullMoveReduction() {
+		return nullMoveReduction;
+	}
+
+	/**
+	 * Sets the reduction of the search after a null move.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the reduction is negative
+	 * @param nullMoveReduction
+	 *            the reduction in plies
+	 */
+	public void setNullMoveReduction(int nullMoveReduction) {
+		if (nullMoveReduction < 0) {
+			throw new IllegalArgumentException("The reduction mustn't be negative.");
+		}
+		this.nullMoveReduction = nullMoveReduction;
+	}
+
+	/**
+	 * Returns whether late-move reductions are used.
+	 *
+	 * @return {@code true}, if late-move reductions are used
+	 */
+	public boolean isLateMoveReductions() {
+		return lateMoveReductions;
+	}
+
+	/**
+	 * Switches late-move reductions on or off.
+	 *
+	 * @param lateMoveReductions
+	 *            {@code true}, if late-move reductions shall be used
+	 */
+	public void setLateMoveReductions(boolean lateMoveReductions) {
+		this.lateMoveReductions = lateMoveReductions;
+	}
+
+	/**
+	 * Returns the minimum remaining plies for late-move reductions.
+	 *
+	 * @return the remaining plies
+	 */
+	public int getLateMoveDepth() {
+		return lateMoveDepth;
+	}
+
+	/**
+	 * Sets the minimum remaining plies for late-move reductions.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the plies are less than one
+	 * @param lateMoveDepth
+	 *            the remaining plies
+	 */
+	public void setLateMoveDepth(int lateMoveDepth) {
+		if (lateMoveDepth < 1) {
+			throw new IllegalArgumentException("The depth has to be positive.");
+		}
+		this.lateMoveDepth = lateMoveDepth;
+	}
+
+	/**
+	 * Returns the number of moves which are never reduced.
+	 *
+	 * @return the number of moves
+	 */
+	public int getLateMoveIndex() {
+		return lateMoveIndex;
+	}
+
+	/**
+	 * Sets the number of moves which are never reduced.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the number is less than one
+	 * @param lateMoveIndex
+	 *            the number of moves
+	 */
+	public void setLateMoveIndex(int lateMoveIndex) {
+		if (lateMoveIndex < 1) {
+			throw new IllegalArgumentException("At least one move has to be searched without reduction.");
+		}
+		this.lateMoveIndex = lateMoveIndex;
+	}
+
+	/**
+	 * Returns the reduction of late moves.
+	 *
+	 * @return the reduction in plies
+	 */
+	public int getLateMoveReduction() {
+		return lateMoveReduction;
+	}
+
+	/**
+	 * Sets the reduction of late moves.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the reduction is negative
+	 * @param lateMoveReduction
+	 *            the reduction in plies
+	 */
+	public void setLateMoveReduction(int lateMoveReduction) {
+		if (lateMoveReduction < 0) {
+			throw new IllegalArgumentException("The reduction mustn't be negative.");
+		}
+		this.lateMoveReduction = lateMoveReduction;
+	}
+
+	/**
+	 * Returns whether futility pruning is used.
+	 *
+	 * @return {@code true}, if futility pruning is used
+	 */
+	public boolean isFutility() {
+		return futility;
+	}
+
+	/**
+	 * Switches futility pruning on or off.
+	 *
+	 * @param futility
+	 *            {@code true}, if futility pruning shall be used
+	 */
+	public void setFutility(boolean futility) {
+		this.futility = futility;
+	}
+
+	/**
+	 * Returns the futility margin per remaining ply.
+	 *
+	 * @return the margin
+	 */
+	public int getFutilityMargin() {
+		return futilityMargin;
+	}
+
+	/**
+	 * Sets the futility margin per remaining ply.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the margin is negative
+	 * @param futilityMargin
+	 *            the margin
+	 */
+	public void setFutilityMargin(int futilityMargin) {
+		if (futilityMargin < 0) {
+			throw new IllegalArgumentException("The margin mustn't be negative.");
+		}
+		this.futilityMargin = futilityMargin;
+	}
+
+	/**
+	 * Returns whether razoring is used.
+	 *
+	 * @return {@code true}, if razoring is used
+	 */
+	public boolean isRazoring() {
+		return razoring;
+	}
+
+	/**
+	 * Switches razoring on or off.
+	 *
+	 * @param razoring
+	 *            {@code true}, if razoring shall be used
+	 */
+	public void setRazoring(boolean razoring) {
+		this.razoring = razoring;
+	}
+
+	/**
+	 * Returns the razoring margin per remaining ply.
+	 *
+	 * @return the margin
+	 */
+	public int getRazorMargin() {
+		return razorMargin;
+	}
+
+	/**
+	 * Sets the razoring margin per remaining ply.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the margin is negative
+	 * @param razorMargin
+	 *            the margin
+	 */
+	public void setRazorMargin(int razorMargin) {
+		if (razorMargin < 0) {
+			throw new IllegalArgumentException("The margin mustn't be negative.");
+		}
+		this.razorMargin = razorMargin;
+	}
+
+	/**
+	 * Returns the maximum remaining plies for futility pruning and razoring.
+	 *
+	 * @return the remaining plies
+	 */
+	public int getFrontierDepth() {
+		return frontierDepth;
+	}
+
+	/**
+	 * Sets the maximum remaining plies for futility pruning and razoring.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the plies are negative
+	 * @param frontierDepth
+	 *            the remaining plies
+	 */
+	public void setFrontierDepth(int frontierDepth) {
+		if (frontierDepth < 0) {
+			throw new IllegalArgumentException("The depth mustn't be negative.");
+		}
+		this.frontierDepth = frontierDepth;
+	}
+
+	/**
+	 * Returns whether aspiration windows are used.
+	 *
+	 * @return {@code true}, if aspiration windows are used
+	 */
+	public boolean isAspiration() {
+		return aspiration;
+	}
+
+	/**
+	 * Switches aspiration windows on or off.
+	 *
+	 * @param aspiration
+	 *            {@code true}, if aspiration windows shall be used
+	 */
+	public void setAspiration(boolean aspiration) {
+		this.aspiration = aspiration;
+	}
+
+	/**
+	 * Returns the initial distance of the bounds of an aspiration window.
+	 *
+	 * @return the distance
+	 */
+	public int getAspirationWindow() {
+		return aspirationWindow;
+	}
+
+	/**
+	 * Sets the initial distance of the bounds of an aspiration window.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the distance is less than one
+	 * @param aspirationWindow
+	 *            the distance
+	 */
+	public void setAspirationWindow(int aspirationWindow) {
+		if (aspirationWindow < 1) {
+			throw new IllegalArgumentException("The window has to be positive.");
+		}
+		this.aspirationWindow = aspirationWindow;
+	}
+
+}
@@ -0,0 +1,139 @@
+package chess.search;
+
+import chess.Move;
+
+/**
+ * The result of a search. It only consists of primitive values, so it
+ * doesn't keep any boards or figures alive.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class SearchResult {
+
+	/**
+	 * The best move.
+	 */
+	private final int bestMove;
+
+	/**
+	 * The value of the best move.
+	 */
+	private final int score;
+
+	/**
+	 * The depth of the last completed iteration.
+	 */
+	private final int depth;
+
+	/**
+	 * The principal variation.
+	 */
+	private final int[] principalVariation;
+
+	/**
+	 * The number of searched boards.
+	 */
+	private final long nodes;
+
+	/**
+	 * Creates a new result.
+	 *
+	 * @param bestMove
+	 *            the best move, {@link Move#NONE} if the current player can't
+	 *            move
+	 * @param score
+	 *            the value of the best move for the current player
+	 * @param depth
+	 *            the depth of the last completed iteration
+	 * @param principalVariation
+	 *            the principal variation, which is copied
+	 * @param nodes
+	 *            the number of searched boards
+	 */
+	public SearchResult(int bestMove, int score, int depth, int[] principalVariation, long nodes) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.principalVariation = principalVariation.clone();
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Returns the best move.
+	 *
+	 * @return
+	 * 		<ul>
+	 *         <li>the best move, see {@link Move}</li>
+	 *         <li>{@link Move#NONE}, if the current player can't move</li>
+	 *         </ul>
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns the value of the best move.
+	 *
+	 * @return the value for the current player
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns whether the score is a mate, see {@link Search#MATE}.
+	 *
+	 * @return {@code true}, if one of the players can be checkmated
+	 */
+	public boolean isMate() {
+		return Math.abs(score) >= Search.MATE / 2;
+	}
+
+	/**
+	 * Returns the depth of the last completed iteration.
+	 *
+	 * @return the depth in plies
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the principal variation. This is the sequence of moves both
+	 * players are expected to make, starting with the best move. It may be
+	 * shorter than the depth, if the search of a line ended early because of
+	 * the transposition table.
+	 *
+	 * @return the moves, see {@link Move}
+	 */
+	public int[] getPrincipalVariation() {
+		return principalVariation.clone();
+	}
+
+	/**
+	 * Returns the number of searched boards.
+	 *
+	 * @return the number of boards
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("depth ");
+		sb.append(depth);
+		sb.append(" score ");
+		sb.append(score);
+		sb.append(" nodes ");
+		sb.append(nodes);
+		sb.append(" pv");
+		for (int move : principalVariation) {
+			sb.append(' ');
+			sb.append(Move.toString(move));
+		}
+		return sb.toString();
+	}
+
+}
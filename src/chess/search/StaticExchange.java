@@ -0,0 +1,109 @@
+package chess.search;
+
+import chess.Bitboard;
+import chess.Board;
+import chess.Figure;
+import chess.Move;
+import chess.Player;
+import chess.figures.Bishop;
+import chess.figures.King;
+import chess.figures.Knight;
+import chess.figures.Pawn;
+import chess.figures.Queen;
+import chess.figures.Rook;
+
+/**
+ * Provides the static exchange evaluation (SEE) of captures. It calculates
+ * the material gain of all captures on a square, assuming that both players
+ * always capture with their least valuable figure and stop as soon as
+ * capturing on would lose material. No moves are made.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class StaticExchange {
+
+	/**
+	 * The values of the figures, indexed by their type.
+	 */
+	static final int[] VALUES = { 0, Pawn.VALUE, Knight.VALUE, Bishop.VALUE, Rook.VALUE, Queen.VALUE, King.VALUE };
+
+	/**
+	 * The length of the buffer needed by {@link #evaluate(Board, int, int[])}.
+	 * There are never more captures on a square than figures on the board.
+	 */
+	public static final int BUFFER_SIZE = 32;
+
+	/**
+	 * This class provides only static methods and must not be instantiated.
+	 */
+	private StaticExchange() {
+	}
+
+	/**
+	 * Returns the material gain of a capture for the current player,
+	 * including all recaptures on the same square.
+	 *
+	 * @param board
+	 *            the board
+	 * @param move
+	 *            the capture, see {@link Move}
+	 * @return the gain, negative if the capture loses material
+	 */
+	public static int evaluate(Board board, int move) {
+		return evaluate(board, move, new int[BUFFER_SIZE]);
+	}
+
+	/**
+	 * Returns the material gain of a capture for the current player, see
+	 * {@link #evaluate(Board, int)}. The gains of the single captures are
+	 * stored in a buffer, which can be reused, so the search doesn't create
+	 * an array for every capture.
+	 *
+	 * @param board
+	 *            the board
+	 * @param move
+	 *            the capture, see {@link Move}
+	 * @param gain
+	 *            the buffer with a length of at least {@link #BUFFER_SIZE}
+	 * @return the gain, negative if the capture loses material
+	 */
+	public static int evaluate(Board board, int move, int[] gain) {
+		int to = Move.getTo(move);
+		int depth = 0;
+		long occupied = board.getOccupied() & ~(1L << Move.getFrom(move));
+		if ((Move.getFlags(move) & Move.EN_PASSANT) != 0) {
+			occupied &= ~Bitboard.bit(Bitboard.getX(to), Bitboard.getY(Move.getFrom(move)));
+		}
+		gain[0] = VALUES[Move.getCaptured(move)];
+		int attacker = Move.getFigure(move);
+		Player side = board.getCurrentPlayer().getOpponent();
+		while (true) {
+			long attackers = board.getAttackers(to, occupied) & occupied & board.getBitboard(side);
+			if (attackers == 0) {
+				break;
+			}
+			depth++;
+			// the figure which captured last is captured now
+			gain[depth] = VALUES[attacker] - gain[depth - 1];
+			if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+				// the exchange is decided, the opponent won't capture anymore
+				depth--;
+				break;
+			}
+			for (attacker = Figure.PAWN; attacker <= Figure.KING; attacker++) {
+				long figures = attackers & board.getBitboard(side, attacker);
+				if (figures != 0) {
+					occupied &= ~(figures & -figures);
+					break;
+				}
+			}
+			side = side.getOpponent();
+		}
+		while (depth > 0) {
+			gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+			depth--;
+		}
+		return gain[0];
+	}
+
+}
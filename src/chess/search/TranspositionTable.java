@@ -0,0 +1,198 @@
+package chess.search;
+
+import chess.Board;
+import chess.Move;
+
+/**
+ * A hash table of fixed size, which stores results of the search for boards,
+ * see {@link Board#getKey()}. The same board is often reached through
+ * different move orders, so its result can be reused instead of searching it
+ * again.<br>
+ * Each entry consists of two {@code long} slots. The second slot holds the
+ * data, the first one holds the key XOR the data. A reader only accepts an
+ * entry if both slots fit together, so several threads can share the table
+ * without any locks: an entry which is torn by concurrent writes is simply
+ * treated as a miss.
+ * <br>
+ * The bits of the data are used as follows:
+ * <ul>
+ * <li>0 - 23: best move, see {@link Move}</li>
+ * <li>24 - 31: depth</li>
+ * <li>32 - 33: bound, see {@link #EXACT}, {@link #LOWER} and
+ * {@link #UPPER}</li>
+ * <li>40 - 63: score</li>
+ * </ul>
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class TranspositionTable {
+
+	/**
+	 * The score is a lower bound, the real score may be higher.
+	 */
+	public static final int LOWER = 1;
+
+	/**
+	 * The score is an upper bound, the real score may be lower.
+	 */
+	public static final int UPPER = 2;
+
+	/**
+	 * The score is exact.
+	 */
+	public static final int EXACT = LOWER | UPPER;
+
+	/**
+	 * The maximum size of a table in megabytes. The slots of 2<sup>29</sup>
+	 * entries are the most a single array can hold.
+	 */
+	public static final int MAX_SIZE = 8192;
+
+	/**
+	 * The size of an entry in bytes.
+	 */
+	private static final int ENTRY_SIZE = 16;
+
+	/**
+	 * The slots of the entries.
+	 */
+	private final long[] slots;
+
+	/**
+	 * The number of entries minus one. The number of entries is a power of
+	 * two, so this is used as a mask for the index.
+	 */
+	private final int mask;
+
+	/**
+	 * Creates a new empty table.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the size is less than one or greater than
+	 *             {@link #MAX_SIZE}
+	 * @param megabytes
+	 *            the size of the table in megabytes, which is rounded down to
+	 *            a power of two
+	 */
+	public TranspositionTable(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("The size has to be at least 1 MB.");
+		}
+		if (megabytes > MAX_SIZE) {
+			throw new IllegalArgumentException("The size mustn't exceed " + MAX_SIZE + " MB.");
+		}
+		int entries = Integer.highestOneBit((int) ((1L << 20) * megabytes / ENTRY_SIZE));
+		slots = new long[2 * entries];
+		mask = entries - 1;
+	}
+
+	/**
+	 * Looks up the data of a board.
+	 *
+	 * @param key
+	 *            the key of the board
+	 * @return
+	 * 		<ul>
+	 *         <li>the data, see {@link #getMove(long)},
+	 *         {@link #getDepth(long)}, {@link #getBound(long)} and
+	 *         {@link #getScore(long)}</li>
+	 *         <li>{@code 0}, if the board is not stored</li>
+	 *         </ul>
+	 */
+	public long probe(long key) {
+		int index = 2 * ((int) key & mask);
+		long data = slots[index + 1];
+		if ((slots[index] ^ data) != key) {
+			return 0L;
+		}
+		return data;
+	}
+
+	/**
+	 * Stores the result of a board. An entry of another board is always
+	 * replaced, an entry of the same board only if the new result has been
+	 * searched at least as deep.
+	 *
+	 * @param key
+	 *            the key of the board
+	 * @param move
+	 *            the best move, {@link Move#NONE} if it is unknown
+	 * @param depth
+	 *            the number of plies that have been searched
+	 * @param score
+	 *            the score
+	 * @param bound
+	 *            the bound of the score, see {@link #EXACT}, {@link #LOWER}
+	 *            and {@link #UPPER}
+	 */
+	public void store(long key, int move, int depth, int score, int bound) {
+		int index = 2 * ((int) key & mask);
+		long old = slots[index + 1];
+		if ((slots[index] ^ old) == key && getDepth(old) > depth) {
+			return;
+		}
+		long data = (move & 0xFFFFFFL) | ((long) Math.min(depth, 0xFF) << 24) | ((long) bound << 32)
+				| ((long) score << 40);
+		slots[index] = key ^ data;
+		slots[index + 1] = data;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = 0L;
+		}
+	}
+
+	/**
+	 * Returns the best move of an entry.
+	 *
+	 * @param data
+	 *            the data of the entry, see {@link #probe(long)}
+	 * @return
+	 * 		<ul>
+	 *         <li>the best move, see {@link Move}</li>
+	 *         <li>{@link Move#NONE}, if it is unknown</li>
+	 *         </ul>
+	 */
+	public static int getMove(long data) {
+		return (int) (data & 0xFFFFFF);
+	}
+
+	/**
+	 * Returns the depth of an entry.
+	 *
+	 * @param data
+	 *            the data of the entry, see {@link #probe(long)}
+	 * @return the number of plies that have been searched
+	 */
+	public static int getDepth(long data) {
+		return (int) ((data >>> 24) & 0xFF);
+	}
+
+	/**
+	 * Returns the bound of an entry.
+	 *
+	 * @param data
+	 *            the data of the entry, see {@link #probe(long)}
+	 * @return the bound, see {@link #EXACT}, {@link #LOWER} and
+	 *         {@link #UPPER}
+	 */
+	public static int getBound(long data) {
+		return (int) ((data >>> 32) & 3);
+	}
+
+	/**
+	 * Returns the score of an entry.
+	 *
+	 * @param data
+	 *            the data of the entry, see {@link #probe(long)}
+	 * @return the score
+	 */
+	public static int getScore(long data) {
+		return (int) (data >> 40);
+	}
+
+}
@@ -1,9 +1,16 @@
 package gui;
 
+import java.util.concurrent.CompletableFuture;
+
+import chess.Bitboard;
 import chess.Board;
 import chess.Game;
 import chess.Player;
+import chess.search.AsyncEngine;
+import chess.search.Limits;
+import chess.search.SearchResult;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
@@ -65,6 +72,18 @@ public class Gui extends Application {
 	 */
 	private Game game = new Game();
 
+	/**
+	 * Runs the searches of the A.I. in the background, so the gui keeps
+	 * responding while the A.I. is thinking.
+	 */
+	private AsyncEngine engine = new AsyncEngine(game.getEngine());
+
+	/**
+	 * The running search of the A.I., {@code null} if the A.I. isn't
+	 * thinking.
+	 */
+	private CompletableFuture<SearchResult> pending;
+
 	/**
 	 * The GridPane that contains all elements.
 	 */
@@ -85,6 +104,11 @@ public class Gui extends Application {
 	 */
 	private StackPane panes[][];
 
+	/**
+	 * The rectangles of the chess board, in the same order as the panes.
+	 */
+	private Rectangle squares[][];
+
 	/**
 	 * Saves one clicked Field of the chess game.
 	 */
@@ -137,6 +161,11 @@ public class Gui extends Application {
 		primaryStage.show();
 	}
 
+	@Override
+	public void stop() {
+		engine.shutdown();
+	}
+
 	/**
 	 * Sets the properties of the grid.
 	 */
@@ -167,9 +196,11 @@ public class Gui extends Application {
 		buttonUndo.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(ActionEvent event) {
-				if (aiBlack) {
+				if (aiBlack && pending == null) {
+					// the A.I. has already moved
 					game.undo();
 				}
+				cancelAI();
 				game.undo();
 				drawBoard();
 			}
@@ -181,7 +212,10 @@ public class Gui extends Application {
 		buttonRestart.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(ActionEvent event) {
+				cancelAI();
+				engine.shutdown();
 				game = new Game();
+				engine = new AsyncEngine(game.getEngine());
 				drawBoard();
 			}
 		});
@@ -253,9 +287,10 @@ public class Gui extends Application {
 		ai.selectedProperty().addListener(new ChangeListener<Boolean>() {
 			public void changed(ObservableValue<? extends Boolean> ov, Boolean oldVal, Boolean newVal) {
 				aiBlack = newVal;
-				if (game.getBoard().getCurrentPlayer() == Player.BLACK) {
-					game.move(ply);
-					drawBoard();
+				if (!aiBlack) {
+					cancelAI();
+				} else if (game.getBoard().getCurrentPlayer() == Player.BLACK && pending == null) {
+					moveAI();
 				}
 			}
 		});
@@ -303,6 +338,7 @@ public class Gui extends Application {
 	 */
 	private void initializeStackPanes() {
 		panes = new StackPane[8][8];
+		squares = new Rectangle[8][8];
 
 		for (int i = 0; i < 8; i++) {
 			for (int j = 0; j < 8; j++) {
@@ -313,8 +349,8 @@ public class Gui extends Application {
 				grid.add(panes[i][j], i, j + 1);
 
 				Rectangle recti = new Rectangle(50, 50);
-				Color color = ((i + j) % 2 == 0) ? Color.BLANCHEDALMOND : Color.INDIANRED;
-				recti.setFill(color);
+				recti.setFill(getSquareColor(i, j));
+				squares[i][j] = recti;
 
 				// recti.addEventFilter(MouseEvent.MOUSE_PRESSED,
 				// event -> System.out.println("i clicked it"));
@@ -347,6 +383,67 @@ public class Gui extends Application {
 		}
 	}
 
+	/**
+	 * Lets the A.I. search its move in the background. The move is made on the
+	 * JavaFX thread as soon as the search is done, unless it has been
+	 * cancelled in the meantime. Afterwards, the A.I. ponders on the reply it
+	 * expects, so it can answer right away if the player makes it.
+	 */
+	private void moveAI() {
+		CompletableFuture<SearchResult> search = engine.search(game.getBoard(), Limits.ofDepth(ply));
+		pending = search;
+		search.thenAccept(result -> Platform.runLater(() -> {
+			if (pending == search) {
+				pending = null;
+				game.move(result);
+				drawBoard();
+				int[] line = result.getPrincipalVariation();
+				if (line.length > 1) {
+					engine.ponder(game.getBoard(), line[1], Limits.ofDepth(ply));
+				}
+			}
+		}));
+	}
+
+	/**
+	 * Stops the search of the A.I., if it is thinking or pondering.
+	 */
+	private void cancelAI() {
+		engine.cancel();
+		pending = null;
+	}
+
+	/**
+	 * Returns the color of a rectangle of the chess board.
+	 * 
+	 * @param i
+	 *            column of the rectangle
+	 * @param j
+	 *            row of the rectangle
+	 * @return the color
+	 */
+	private Color getSquareColor(int i, int j) {
+		return ((i + j) % 2 == 0) ? Color.BLANCHEDALMOND : Color.INDIANRED;
+	}
+
+	/**
+	 * Highlights all squares the clicked figure can legally move to. If no
+	 * figure is clicked, all highlights are removed.
+	 */
+	private void highlightTargets() {
+		long targets = 0L;
+		if (clickedX != -1 && clickedY != -1) {
+			targets = game.getBoard().getLegalTargets(clickedX, clickedY);
+		}
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				// change coords
+				boolean target = (targets & Bitboard.bit(x, y)) != 0;
+				squares[x][7 - y].setFill(target ? Color.LIGHTGREEN : getSquareColor(x, 7 - y));
+			}
+		}
+	}
+
 	/**
 	 * Sets the text for the current player.
 	 */
@@ -482,6 +579,11 @@ public class Gui extends Application {
 		// System.out.println("I clicked " + x + "|" + y + " (chess
 		// coordinates)");
 
+		if (pending != null) {
+			// the A.I. is thinking
+			return;
+		}
+
 		if (game.getBoard().getFigure(x, y) == null
 				|| game.getBoard().getFigure(x, y).getOwner() != game.getBoard().getCurrentPlayer()) {
 			// empty space clicked or enemy figure clicked
@@ -495,12 +597,10 @@ public class Gui extends Application {
 
 				if (game.move(clickedX, clickedY, x, y)) {
 
-					// TODO wird nicht rechtzeitig aufgerufen
 					drawBoard();
 
 					if (aiBlack && game.getBoard().getCurrentPlayer() == Player.BLACK) {
-						game.move(ply);
-						drawBoard();
+						moveAI();
 					}
 				}
 			}
@@ -513,6 +613,7 @@ public class Gui extends Application {
 				// System.out.println("figure clicked and saved");
 			}
 		}
+		highlightTargets();
 	}
 
 	/**
@@ -523,6 +624,7 @@ public class Gui extends Application {
 		deleteAllPieces();
 		setCurrentPlayerText();
 		setCurrentStateText();
+		highlightTargets();
 
 		Board board = game.getBoard();
 		for (int x = 0; x < 8; x++) {